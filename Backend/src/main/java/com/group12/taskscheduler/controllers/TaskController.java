@@ -1,13 +1,33 @@
 package com.group12.taskscheduler.controllers;
 
 import com.group12.taskscheduler.models.Task;
+import com.group12.taskscheduler.models.TaskImportRow;
 import com.group12.taskscheduler.services.TaskService;
+import com.group12.taskscheduler.services.scheduling.SolverOptions;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -22,10 +42,18 @@ import java.util.stream.Collectors;
 public class TaskController {
 
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+
+    // Largest page the search returns
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // Fields the search results can be sorted by
+    private static final Set<String> SORT_FIELDS = Set.of("id", "name", "weight", "dueDate", "estimatedDuration");
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -52,6 +80,25 @@ public class TaskController {
         }
     }
 
+    // Takes a JSON array of tasks, or one task per line (NDJSON)
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Map<String, Object>> importTasks(InputStream body) {
+        List<TaskImportRow> rows;
+        try (MappingIterator<TaskImportRow> values = objectMapper.readerFor(TaskImportRow.class).readValues(body)) {
+            rows = values.readAll();
+        } catch (IOException | RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed import: " + e.getMessage());
+        }
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The import contains no tasks");
+        }
+        try {
+            return new ResponseEntity<>(taskService.importTasks(rows), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<Task>> getAllTasks() {
         try {
@@ -62,6 +109,67 @@ public class TaskController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchTasks(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer weight,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Page<Task> tasks = taskService.searchTasks(name, weight, startDate, endDate,
+            PageRequest.of(page, size, parseSort(sort)));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("content", tasks.getContent());
+        response.put("page", tasks.getNumber());
+        response.put("size", tasks.getSize());
+        response.put("totalElements", tasks.getTotalElements());
+        response.put("totalPages", tasks.getTotalPages());
+        return ResponseEntity.ok(response);
+    }
+
+    // Streams every task as NDJSON (one JSON task per line, as in the task list) or CSV
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = format.equalsIgnoreCase("csv");
+        if (!csv && !format.equalsIgnoreCase("ndjson")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format must be ndjson or csv");
+        }
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = response -> {
+            OutputStream out = new BufferedOutputStream(response, 64 * 1024);
+            try {
+                if (csv) {
+                    out.write("id,name,weight,dueDate,estimatedDuration,dependencies\n".getBytes(StandardCharsets.UTF_8));
+                }
+                taskService.streamTasks(task -> {
+                    try {
+                        if (csv) {
+                            out.write(toCsvLine(task).getBytes(StandardCharsets.UTF_8));
+                        } else {
+                            out.write(writer.writeValueAsBytes(task));
+                            out.write('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + (csv ? "csv" : "ndjson") + "\"")
+            .body(body);
+    }
+
     @PostMapping("/by-name")
     public ResponseEntity<Task> getTaskByName(@RequestBody Map<String, String> payload) {
         String name = payload.get("name");
@@ -106,9 +214,14 @@ public class TaskController {
     }
 
     @GetMapping("/schedule")
-    public ResponseEntity<List<String>> generateSchedule() {
+    public ResponseEntity<List<String>> generateSchedule(
+            @RequestParam(required = false) Long timeLimitMs,
+            @RequestParam(required = false) Long nodeLimit,
+            @RequestParam(required = false) String strategy,
+            @RequestParam(required = false) Long seed) {
+        SolverOptions options = buildSolverOptions(timeLimitMs, nodeLimit, strategy, seed);
         try {
-            Map<String, Object> response = taskService.generateSchedule();
+            Map<String, Object> response = taskService.generateSchedule(options);
             if (response == null || !response.containsKey("schedule")) {
                 throw new IllegalStateException("Schedule missing from response");
             }
@@ -122,7 +235,7 @@ public class TaskController {
                 .map(Task::getName)
                 .collect(Collectors.toList());
             return ResponseEntity.ok(taskNames);
-        } catch (IllegalStateException e) {
+        } catch (IllegalStateException | IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             // Log the exception details
@@ -132,6 +245,99 @@ public class TaskController {
         }
     }
 
+    @GetMapping("/schedule/details")
+    public ResponseEntity<Map<String, Object>> generateScheduleDetails(
+            @RequestParam(required = false) Long timeLimitMs,
+            @RequestParam(required = false) Long nodeLimit,
+            @RequestParam(required = false) String strategy,
+            @RequestParam(required = false) Long seed) {
+        SolverOptions options = buildSolverOptions(timeLimitMs, nodeLimit, strategy, seed);
+        try {
+            Map<String, Object> response = taskService.generateSchedule(options);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR, "Error generating schedule: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/schedule/cache")
+    public ResponseEntity<Map<String, Object>> getScheduleCacheStatistics() {
+        return ResponseEntity.ok(taskService.getScheduleCacheStatistics());
+    }
+
+    @GetMapping("/schedule/strategies")
+    public ResponseEntity<Map<String, Object>> getSchedulingStrategies() {
+        return ResponseEntity.ok(taskService.getSchedulingStrategies());
+    }
+
+    @GetMapping("/schedule/trace")
+    public ResponseEntity<List<Map<String, Object>>> getScheduleTrace(
+            @RequestParam(defaultValue = "1") int runs) {
+        if (runs < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Number of runs must be at least 1");
+        }
+        return ResponseEntity.ok(taskService.getScheduleTrace(runs));
+    }
+
+    // One CSV record; dependency ids are sorted and comma-separated within the field
+    private static String toCsvLine(Task task) {
+        String dependencies = task.getDependenciesSet() == null ? "" : task.getDependenciesSet().stream()
+            .sorted().map(String::valueOf).collect(Collectors.joining(","));
+        return task.getId() + "," + csvField(task.getName()) + "," + task.getWeight() + "," + task.getDueDate() + "," +
+            task.getEstimatedDuration() + "," + csvField(dependencies) + "\n";
+    }
+
+    // Quotes a field that holds a comma, a quote or a line break, doubling its quotes (RFC 4180)
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Parses "field" or "field,asc|desc", ties broken by id so that pages do not overlap
+    private Sort parseSort(String sort) {
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORT_FIELDS.contains(field) || parts.length > 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Sort must be one of " + SORT_FIELDS + ", optionally followed by ,asc or ,desc");
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim()).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sort direction must be asc or desc"));
+        }
+        Sort order = Sort.by(direction, field);
+        return field.equals("id") ? order : order.and(Sort.by("id"));
+    }
+
+    // Builds the solver budget from the optional request parameters
+    private SolverOptions buildSolverOptions(Long timeLimitMs, Long nodeLimit, String strategy, Long seed) {
+        if ((timeLimitMs != null && timeLimitMs < 0) || (nodeLimit != null && nodeLimit < 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Budget limits must not be negative");
+        }
+        SolverOptions options = new SolverOptions();
+        if (timeLimitMs != null) {
+            options.setTimeLimitMillis(timeLimitMs);
+        }
+        if (nodeLimit != null) {
+            options.setNodeLimit(nodeLimit);
+        }
+        options.setStrategy(strategy);
+        if (seed != null) {
+            options.setSeed(seed);
+        }
+        return options;
+    }
+
     // Error handler for validation errors
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<Map<String, String>> handleResponseStatusException(ResponseStatusException ex) {
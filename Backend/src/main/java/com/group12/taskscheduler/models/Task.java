@@ -1,23 +1,37 @@
 package com.group12.taskscheduler.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Locale;
 import java.util.Set;
 import java.util.HashSet;
 import java.lang.Math;
 
 @Entity // Marks this class as a database entity
-@Table(name = "tasks") // Specifies the table name in MySQL
+@Table(name = "tasks", indexes = { // Specifies the table name in MySQL
+    // Search filters
+    @Index(name = "idx_tasks_due_date", columnList = "due_date"),
+    @Index(name = "idx_tasks_weight", columnList = "weight"),
+    @Index(name = "idx_tasks_name_lower", columnList = "name_lower")
+})
 public class Task {
 
+    // Ids come from a sequence, 50 at a time, so that inserts can be sent in JDBC batches
+    // (identity columns make Hibernate insert one row per statement to read the id back)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
+    // Lowercase copy of the name, so that case-insensitive search can use a plain index
+    @Column(name = "name_lower")
+    private String nameLower;
+
     // Weight on a scale from 1-10 (importance)
     @Column(nullable = false)
     private int weight;
@@ -31,10 +45,14 @@ public class Task {
     private int estimatedDuration;
 
     // Dependencies stored as a comma-separated string of task IDs
+    // Loaded lazily, for up to 100 tasks per query when a list of tasks was read without them
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(
         name = "task_dependencies", 
-        joinColumns = @JoinColumn(name = "task_id")
+        joinColumns = @JoinColumn(name = "task_id"),
+        // Reverse lookup of the tasks that depend on a task
+        indexes = @Index(name = "idx_task_dependencies_dependency_id", columnList = "dependency_id")
     )
     @Column(name = "dependency_id") 
     private Set<Long> dependenciesSet = new HashSet<>();
@@ -63,7 +81,7 @@ public class Task {
     }
 
     public Task(String name, int weight, LocalDate dueDate, int estimatedDuration) {
-        this.name = name;
+        setName(name);
         this.weight = weight;
         this.dueDate = dueDate;
         this.estimatedDuration = estimatedDuration;
@@ -86,6 +104,21 @@ public class Task {
 
     public void setName(String name) {
         this.name = name;
+        this.nameLower = searchKey(name);
+    }
+
+    /**
+     * Form of a name that case-insensitive search compares
+     */
+    public static String searchKey(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    // Keeps the search column in step however the name was set
+    @PrePersist
+    @PreUpdate
+    private void updateNameLower() {
+        this.nameLower = searchKey(name);
     }
 
     public int getWeight() {
@@ -160,26 +193,26 @@ public class Task {
      * This makes it comparable with the task duration (converted to days)
      */
     public int getDeadlineAsInt() {
+        return getDeadlineAsInt(LocalDate.now());
+    }
+
+    /**
+     * Calculates the deadline as days from a reference date to the due date
+     * The scheduler passes one date for a whole run so that all deadlines agree
+     */
+    public int getDeadlineAsInt(LocalDate today) {
         // If there's a override value for testing, use it
         if (deadlineOverride != null) {
             // Convert hours to days (round up to ensure we have enough time)
-            int result = (int) Math.ceil(deadlineOverride / 24.0);
-            System.out.println("Task " + id + " (" + name + "): Using deadline override: " + 
-                deadlineOverride + " hours = " + result + " days");
-            return result;
+            return (int) Math.ceil(deadlineOverride / 24.0);
         }
 
         // Calculate days from now to the due date
         if (dueDate == null) {
-            System.out.println("Task " + id + " (" + name + "): No due date, returning MAX_VALUE");
             return Integer.MAX_VALUE; // No deadline
         }
 
-        LocalDate today = LocalDate.now();
         long daysBetween = ChronoUnit.DAYS.between(today, dueDate);
-        
-        System.out.println("Task " + id + " (" + name + "): Calculating deadline: today = " + today + 
-            ", dueDate = " + dueDate + ", daysBetween = " + daysBetween);
 
         // Return days directly (no conversion to hours)
         return (int) daysBetween;
@@ -191,7 +224,6 @@ public class Task {
      */
     public int getDurationInDays() {
         // Duration is already in days, return directly
-        System.out.println("Task " + id + " (" + name + "): Getting duration in days: " + estimatedDuration);
         return estimatedDuration;
     }
 
@@ -231,6 +263,33 @@ public class Task {
         this.relativeDueDate = relativeDueDate;
     }
 
+    /**
+     * Hashes every field that affects scheduling (id, weight, due date, duration,
+     * dependencies and the test deadline override), for the schedule cache
+     * Dependencies are combined order-independently since they are a set
+     */
+    public long schedulingFingerprint() {
+        long hash = mix(id == null ? 0 : id);
+        hash = hash * 31 + weight;
+        hash = hash * 31 + (dueDate == null ? 0 : dueDate.toEpochDay());
+        hash = hash * 31 + estimatedDuration;
+        hash = hash * 31 + (deadlineOverride == null ? Long.MIN_VALUE : deadlineOverride);
+        long dependencies = 0;
+        if (dependenciesSet != null) {
+            for (Long depId : dependenciesSet) {
+                dependencies += mix(depId == null ? 0 : depId);
+            }
+        }
+        return mix(hash * 31 + dependencies);
+    }
+
+    // 64-bit finalizer from SplitMix64
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
     // Helper method for the scheduler
     @Override
     public String toString() {
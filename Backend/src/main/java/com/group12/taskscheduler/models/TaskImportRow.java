@@ -0,0 +1,106 @@
+package com.group12.taskscheduler.models;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One task of a bulk import (not persisted)
+ * Dependencies name either existing tasks by id or other rows of the same import by ref,
+ * so a batch can link its own tasks before they have ids
+ */
+public class TaskImportRow {
+
+    // Key other rows of the batch use to depend on this one (optional, unique in the batch)
+    private String ref;
+
+    private String name;
+
+    private int weight;
+
+    private LocalDate dueDate;
+
+    private int estimatedDuration;
+
+    // Refs of rows in the batch, or ids of existing tasks
+    private List<String> dependencies = new ArrayList<>();
+
+    // Same as dependencies, comma-separated, as in the single-task API
+    private String dependenciesStr;
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public int getEstimatedDuration() {
+        return estimatedDuration;
+    }
+
+    public void setEstimatedDuration(int estimatedDuration) {
+        this.estimatedDuration = estimatedDuration;
+    }
+
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    public void setDependencies(List<String> dependencies) {
+        this.dependencies = dependencies == null ? new ArrayList<>() : dependencies;
+    }
+
+    public String getDependenciesStr() {
+        return dependenciesStr;
+    }
+
+    public void setDependenciesStr(String dependenciesStr) {
+        this.dependenciesStr = dependenciesStr;
+    }
+
+    /**
+     * Every dependency token of the row, from both fields, trimmed
+     */
+    public List<String> dependencyTokens() {
+        List<String> tokens = new ArrayList<>();
+        for (String dependency : dependencies) {
+            if (dependency != null && !dependency.isBlank()) {
+                tokens.add(dependency.trim());
+            }
+        }
+        if (dependenciesStr != null) {
+            for (String part : dependenciesStr.split(",")) {
+                if (!part.isBlank()) {
+                    tokens.add(part.trim());
+                }
+            }
+        }
+        return tokens;
+    }
+}
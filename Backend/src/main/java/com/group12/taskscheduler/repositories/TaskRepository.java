@@ -1,14 +1,23 @@
 package com.group12.taskscheduler.repositories;
 
 import com.group12.taskscheduler.models.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     // Find tasks by weight
     List<Task> findByWeight(int weight);
     
@@ -23,4 +32,37 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     // Find tasks by name (case-insensitive)
     List<Task> findByNameContainingIgnoreCase(String name);
+    
+    // Find all tasks with their dependencies, joined in a single query instead of one per task
+    @Query("select distinct t from Task t left join fetch t.dependenciesSet")
+    List<Task> findAllWithDependencies();
+    
+    // Stream all tasks with their dependencies in id order through a forward-only cursor, 500 rows
+    // per fetch, read-only so that no snapshot is kept for dirty checking; call in a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t left join fetch t.dependenciesSet order by t.id")
+    Stream<Task> streamAllWithDependencies();
+    
+    // Find which of the given ids belong to existing tasks
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    // Find the ids of the tasks that depend on a task (index on task_dependencies.dependency_id)
+    @Query(value = "select task_id from task_dependencies where dependency_id = :id", nativeQuery = true)
+    List<Long> findDependentIds(@Param("id") Long id);
+    
+    // Remove a task from every dependency set in one statement
+    @Modifying(clearAutomatically = true)
+    @Query(value = "delete from task_dependencies where dependency_id = :id", nativeQuery = true)
+    int deleteDependencyRows(@Param("id") Long id);
+    
+    // Remove a task id from the dependency strings of some tasks; the token is ",id,", as the
+    // string is matched with a comma added at both ends and its spaces removed
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.dependenciesStr = trim(both ',' from replace(concat(',', " +
+        "replace(t.dependenciesStr, ' ', ''), ','), :token, ',')) where t.id in :ids")
+    int removeFromDependencyStrings(@Param("ids") Collection<Long> ids, @Param("token") String token);
 } 
\ No newline at end of file
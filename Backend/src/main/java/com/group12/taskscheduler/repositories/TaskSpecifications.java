@@ -0,0 +1,51 @@
+package com.group12.taskscheduler.repositories;
+
+import com.group12.taskscheduler.models.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Task search filters, combined into a single query against the indexed columns
+ * A filter whose value is null matches every task
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Tasks matching every given filter
+     * @param name Part of the name, case-insensitive
+     * @param weight Exact weight
+     * @param startDate Earliest due date, inclusive
+     * @param endDate Latest due date, inclusive
+     */
+    public static Specification<Task> matching(String name, Integer weight, LocalDate startDate, LocalDate endDate) {
+        return Specification.where(nameContains(name))
+            .and(hasWeight(weight))
+            .and(dueOnOrAfter(startDate))
+            .and(dueOnOrBefore(endDate));
+    }
+
+    // Compares against the stored lowercase name, so no function is applied to the column
+    public static Specification<Task> nameContains(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        String pattern = "%" + Task.searchKey(name).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, builder) -> builder.like(root.get("nameLower"), pattern, '\\');
+    }
+
+    public static Specification<Task> hasWeight(Integer weight) {
+        return weight == null ? null : (root, query, builder) -> builder.equal(root.get("weight"), weight);
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDate date) {
+        return date == null ? null : (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("dueDate"), date);
+    }
+
+    public static Specification<Task> dueOnOrBefore(LocalDate date) {
+        return date == null ? null : (root, query, builder) -> builder.lessThanOrEqualTo(root.get("dueDate"), date);
+    }
+}
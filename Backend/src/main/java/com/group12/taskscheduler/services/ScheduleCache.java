@@ -0,0 +1,124 @@
+package com.group12.taskscheduler.services;
+
+import java.util.*;
+
+/**
+ * Cache of generated schedules, keyed by a fingerprint of the task set and the
+ * scheduler parameters.
+ *
+ * Entries are evicted least-recently-used once the cache is full, and expire after a
+ * maximum age so that a schedule is never served for long after it was computed.
+ * Any change to the tasks clears the whole cache. All operations are synchronized;
+ * they only touch a small map, while a miss costs a full solve.
+ */
+public class ScheduleCache {
+
+    private static final class Entry {
+        final Map<String, Object> value;
+        final long createdAt;
+
+        Entry(Map<String, Object> value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private int maxEntries;
+    private long maxAgeMillis;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxEntries Maximum number of cached schedules (0 disables the cache)
+     * @param maxAgeMillis Maximum age of a cached schedule in milliseconds (0 for no limit)
+     */
+    public ScheduleCache(int maxEntries, long maxAgeMillis) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxAgeMillis = Math.max(0, maxAgeMillis);
+    }
+
+    /**
+     * Looks up a schedule
+     * @return A copy of the cached schedule, or null if there is none or it expired
+     */
+    public synchronized Map<String, Object> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+            entries.remove(key);
+            evictions++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new HashMap<>(entry.value);
+    }
+
+    /**
+     * Stores a schedule, evicting the least recently used ones if the cache is full
+     */
+    public synchronized void put(String key, Map<String, Object> value) {
+        if (maxEntries == 0) {
+            return;
+        }
+        entries.put(key, new Entry(new HashMap<>(value), System.currentTimeMillis()));
+        evictOverflow();
+    }
+
+    /**
+     * Drops every cached schedule (called whenever a task changes)
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized void setMaxEntries(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        evictOverflow();
+    }
+
+    public synchronized void setMaxAgeMillis(long maxAgeMillis) {
+        this.maxAgeMillis = Math.max(0, maxAgeMillis);
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the cache counters and limits
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        long lookups = hits + misses;
+        statistics.put("hits", hits);
+        statistics.put("misses", misses);
+        statistics.put("hitRate", lookups == 0 ? 0.0 : (double) hits / lookups);
+        statistics.put("evictions", evictions);
+        statistics.put("size", entries.size());
+        statistics.put("maxEntries", maxEntries);
+        statistics.put("maxAgeMs", maxAgeMillis);
+        return statistics;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return maxAgeMillis > 0 && now - entry.createdAt > maxAgeMillis;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> eldestFirst = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldestFirst.hasNext()) {
+            eldestFirst.next();
+            eldestFirst.remove();
+            evictions++;
+        }
+    }
+}
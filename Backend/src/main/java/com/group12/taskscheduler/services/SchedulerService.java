@@ -1,9 +1,51 @@
 package com.group12.taskscheduler.services;
 
 import com.group12.taskscheduler.models.Task;
+import com.group12.taskscheduler.services.scheduling.BeamSearchStrategy;
+import com.group12.taskscheduler.services.scheduling.BranchAndBoundStrategy;
+import com.group12.taskscheduler.services.scheduling.CompiledTaskGraph;
+import com.group12.taskscheduler.services.scheduling.ConstraintPropagation;
+import com.group12.taskscheduler.services.scheduling.DependencyCycles;
+import com.group12.taskscheduler.services.scheduling.DependencyOrderStrategy;
+import com.group12.taskscheduler.services.scheduling.GreedyStrategy;
+import com.group12.taskscheduler.services.scheduling.InstanceFeatures;
+import com.group12.taskscheduler.services.scheduling.LargeNeighbourhoodSearchStrategy;
+import com.group12.taskscheduler.services.scheduling.PortfolioStrategy;
+import com.group12.taskscheduler.services.scheduling.ScheduleResult;
+import com.group12.taskscheduler.services.scheduling.ScheduleUpperBound;
+import com.group12.taskscheduler.services.scheduling.SchedulingContext;
+import com.group12.taskscheduler.services.scheduling.SchedulingProblem;
+import com.group12.taskscheduler.services.scheduling.SchedulingStrategy;
+import com.group12.taskscheduler.services.scheduling.SearchBudget;
+import com.group12.taskscheduler.services.scheduling.SharedIncumbent;
+import com.group12.taskscheduler.services.scheduling.SolverOptions;
+import com.group12.taskscheduler.services.scheduling.SolverStatistics;
+import com.group12.taskscheduler.services.scheduling.SolverTrace;
+import com.group12.taskscheduler.services.scheduling.StrategySelector;
+import com.group12.taskscheduler.services.scheduling.SubsetDpSolver;
+import com.group12.taskscheduler.services.scheduling.SubsetDpStrategy;
+import com.group12.taskscheduler.services.scheduling.SubsetSearchStrategy;
+import com.group12.taskscheduler.services.scheduling.SymmetryBreaking;
+import com.group12.taskscheduler.services.scheduling.TimeIndexedDpSolver;
+import com.group12.taskscheduler.services.scheduling.TimeIndexedDpStrategy;
+import com.group12.taskscheduler.services.scheduling.TranspositionTable;
+import com.group12.taskscheduler.services.scheduling.WarmStartStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +72,65 @@ public class SchedulerService {
     // Extra flexibility for high-priority tasks
     private double highPriorityExtraFlexibility = 0.2; // 20% extra flexibility
     
+    // Largest task count solved with the subset DP engine instead of backtracking
+    private int dpTaskLimit = 20;
+    
+    // Largest task count solved with the include/exclude subset search instead of backtracking
+    private int subsetSearchTaskLimit = 150;
+    
+    // Largest task count searched exactly by default; larger task sets use large-neighbourhood search
+    private int largeInstanceTaskLimit = 1000;
+    
+    // Number of worker threads for the backtracking search (1 = sequential)
+    private int parallelism = 1;
+    
+    // Pool running the parallel search, null in sequential mode
+    private ForkJoinPool searchPool;
+    
+    // Backtracking, kept to apply the configured transposition table
+    private final BranchAndBoundStrategy backtracking = new BranchAndBoundStrategy();
+    
+    // Beam search, kept to apply the configured width
+    private final BeamSearchStrategy beamSearch = new BeamSearchStrategy(32);
+    
+    // Race every applicable strategy instead of picking one
+    private boolean portfolioEnabled = false;
+    
+    // Threads running the portfolio members, created on first use
+    private ExecutorService portfolioExecutor;
+    
+    // Time budget applied when a request does not set one (0 = unlimited)
+    private long defaultTimeLimitMillis = 0;
+    
+    // In-memory trace of the recent scheduling runs (replaces printing to stdout)
+    private final SolverTrace trace = new SolverTrace(65536, 10);
+    
+    // Registry the statistics of every run are published to, null when metrics are not set up
+    private MeterRegistry meterRegistry;
+    
+    // Last schedule found, used to seed the next search after task edits
+    private final WarmStartStore warmStart = new WarmStartStore();
+    
+    // Registered strategies and the automatic choice between them
+    private final StrategySelector strategySelector = new StrategySelector(dpTaskLimit, subsetSearchTaskLimit, 
+        largeInstanceTaskLimit);
+    
+    // Largest instance for which a heuristic schedule is bounded by the root upper bound
+    private static final int ROOT_BOUND_TASK_LIMIT = 5000;
+    
+    public SchedulerService() {
+        strategySelector.register(new SubsetDpStrategy());
+        strategySelector.register(new TimeIndexedDpStrategy());
+        strategySelector.register(new SubsetSearchStrategy());
+        backtracking.setTranspositionTable(new TranspositionTable(16L << 20));
+        strategySelector.register(backtracking);
+        strategySelector.register(new GreedyStrategy());
+        strategySelector.register(new LargeNeighbourhoodSearchStrategy());
+        strategySelector.register(beamSearch);
+        strategySelector.register(new DependencyOrderStrategy());
+        strategySelector.register(new PortfolioStrategy(this::portfolioMembers, this::portfolioExecutor));
+    }
+    
     /**
      * Sets the test mode flag
      * When in test mode, deadlines are ignored
@@ -84,86 +185,458 @@ public class SchedulerService {
         System.out.println("High priority extra flexibility set to: " + this.highPriorityExtraFlexibility);
     }
     
+    /**
+     * Sets the largest number of tasks for which the exact subset DP engine is the default
+     * Larger task sets fall back to backtracking. 0 leaves the DP engine to pinned requests
+     * and to the strategy selector's measurements.
+     */
+    public void setDpTaskLimit(int dpTaskLimit) {
+        this.dpTaskLimit = Math.max(0, Math.min(SubsetDpSolver.MAX_TASKS, dpTaskLimit));
+        this.strategySelector.setDpTaskLimit(this.dpTaskLimit);
+        System.out.println("Subset DP task limit set to: " + this.dpTaskLimit);
+    }
+    
+    /**
+     * Gets the largest number of tasks solved with the subset DP engine
+     */
+    public int getDpTaskLimit() {
+        return this.dpTaskLimit;
+    }
+    
+    /**
+     * Sets the largest number of tasks for which the include/exclude subset search is the default
+     * Larger task sets fall back to backtracking. 0 leaves the subset search to pinned requests
+     * and to the strategy selector's measurements.
+     */
+    @Value("${scheduler.subset-search-task-limit:150}")
+    public void setSubsetSearchTaskLimit(int subsetSearchTaskLimit) {
+        this.subsetSearchTaskLimit = Math.max(0, subsetSearchTaskLimit);
+        this.strategySelector.setSubsetSearchTaskLimit(this.subsetSearchTaskLimit);
+        System.out.println("Subset search task limit set to: " + this.subsetSearchTaskLimit);
+    }
+    
+    /**
+     * Gets the largest number of tasks solved with the include/exclude subset search
+     */
+    public int getSubsetSearchTaskLimit() {
+        return this.subsetSearchTaskLimit;
+    }
+    
+    /**
+     * Sets the largest number of tasks for which an exact search is the default
+     * Larger task sets are scheduled with the greedy heuristic improved by large-neighbourhood
+     * search, which returns a good schedule within the time budget but proves nothing
+     */
+    @Value("${scheduler.large-instance-task-limit:1000}")
+    public void setLargeInstanceTaskLimit(int largeInstanceTaskLimit) {
+        this.largeInstanceTaskLimit = Math.max(0, largeInstanceTaskLimit);
+        this.strategySelector.setLargeInstanceTaskLimit(this.largeInstanceTaskLimit);
+        System.out.println("Large instance task limit set to: " + this.largeInstanceTaskLimit);
+    }
+    
+    /**
+     * Gets the largest number of tasks for which an exact search is the default
+     */
+    public int getLargeInstanceTaskLimit() {
+        return this.largeInstanceTaskLimit;
+    }
+    
+    /**
+     * Sets the number of worker threads used by the backtracking search
+     * 1 runs the search sequentially on the calling thread
+     */
+    @Value("${scheduler.parallelism:1}")
+    public synchronized void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        if (searchPool != null) {
+            searchPool.shutdown();
+            searchPool = null;
+        }
+        if (this.parallelism > 1) {
+            searchPool = new ForkJoinPool(this.parallelism);
+        }
+        System.out.println("Search parallelism set to: " + this.parallelism);
+    }
+    
+    /**
+     * Gets the number of worker threads used by the backtracking search
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+    
+    /**
+     * Sets the memory of the transposition table backtracking uses to skip sets of tasks
+     * it has already searched; allocated on the first backtracking run
+     * @param megabytes Size cap in MB, 0 to search without a table
+     */
+    @Value("${scheduler.transposition-table-mb:16}")
+    public void setTranspositionTableMegabytes(int megabytes) {
+        this.backtracking.setTranspositionTable(megabytes > 0 ? new TranspositionTable((long) megabytes << 20) : null);
+        System.out.println("Transposition table size set to: " + Math.max(0, megabytes) + " MB");
+    }
+    
+    /**
+     * Gets the memory cap of the backtracking transposition table in MB, 0 without one
+     */
+    public int getTranspositionTableMegabytes() {
+        TranspositionTable table = this.backtracking.getTranspositionTable();
+        return table == null ? 0 : (int) (table.getMaxBytes() >> 20);
+    }
+    
+    /**
+     * Sets the number of partial schedules beam search keeps per level
+     * Wider beams find better schedules; time and memory per level grow linearly with it
+     */
+    @Value("${scheduler.beam-width:32}")
+    public void setBeamWidth(int beamWidth) {
+        this.beamSearch.setWidth(beamWidth);
+        System.out.println("Beam width set to: " + this.beamSearch.getWidth());
+    }
+    
+    /**
+     * Gets the number of partial schedules beam search keeps per level
+     */
+    public int getBeamWidth() {
+        return this.beamSearch.getWidth();
+    }
+    
+    /**
+     * Sets whether requests without a pinned strategy race all applicable strategies
+     * The members share the best schedule found and the first one to prove optimality
+     * stops the others
+     */
+    @Value("${scheduler.portfolio.enabled:false}")
+    public void setPortfolioEnabled(boolean portfolioEnabled) {
+        this.portfolioEnabled = portfolioEnabled;
+        System.out.println("Portfolio scheduling set to: " + portfolioEnabled);
+    }
+    
+    /**
+     * Gets whether requests without a pinned strategy race all applicable strategies
+     */
+    public boolean isPortfolioEnabled() {
+        return this.portfolioEnabled;
+    }
+    
+    /**
+     * Sets the time budget used when a request does not specify one
+     * @param timeLimitMillis Limit in milliseconds, 0 for unlimited
+     */
+    @Value("${scheduler.default-time-limit-ms:0}")
+    public void setDefaultTimeLimitMillis(long timeLimitMillis) {
+        this.defaultTimeLimitMillis = Math.max(0, timeLimitMillis);
+        System.out.println("Default scheduling time limit set to: " + this.defaultTimeLimitMillis + " ms");
+    }
+    
+    /**
+     * Gets the time budget used when a request does not specify one
+     */
+    public long getDefaultTimeLimitMillis() {
+        return this.defaultTimeLimitMillis;
+    }
+    
+    /**
+     * Sets how much each scheduling run records in the trace
+     * @param level OFF, SUMMARY or NODE (case-insensitive)
+     */
+    @Value("${scheduler.trace.level:SUMMARY}")
+    public void setTraceLevel(String level) {
+        this.trace.setLevel(SolverTrace.Level.valueOf(level.trim().toUpperCase()));
+        System.out.println("Solver trace level set to: " + this.trace.getLevel());
+    }
+    
+    /**
+     * Sets the number of node events kept in the trace ring buffer
+     */
+    @Value("${scheduler.trace.buffer-size:65536}")
+    public void setTraceBufferSize(int bufferSize) {
+        this.trace.setBufferSize(bufferSize);
+        System.out.println("Solver trace buffer size set to: " + this.trace.getBufferSize());
+    }
+    
+    /**
+     * Sets the number of recent scheduling runs kept in the trace
+     */
+    @Value("${scheduler.trace.runs:10}")
+    public void setTraceRuns(int runs) {
+        this.trace.setMaxRuns(runs);
+        System.out.println("Solver trace runs set to: " + this.trace.getMaxRuns());
+    }
+    
+    /**
+     * Gets the trace of the recent scheduling runs
+     */
+    public SolverTrace getTrace() {
+        return this.trace;
+    }
+    
+    /**
+     * Registers an additional scheduling strategy, which requests can then pin by name
+     */
+    public void registerStrategy(SchedulingStrategy strategy) {
+        strategySelector.register(strategy);
+        System.out.println("Scheduling strategy registered: " + strategy.getName());
+    }
+    
+    /**
+     * Registers the scheduling strategies defined as beans in the application context
+     */
+    @Autowired(required = false)
+    public void setAdditionalStrategies(List<SchedulingStrategy> strategies) {
+        strategies.forEach(this::registerStrategy);
+    }
+    
+    /**
+     * Publishes the statistics of every scheduling run to a metrics registry
+     * (the actuator's registry when the application runs with it)
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Gets the names of the registered scheduling strategies
+     */
+    public List<String> getStrategyNames() {
+        return strategySelector.getNames();
+    }
+    
+    /**
+     * Gets the solve times recorded per strategy and class of instances
+     */
+    public List<Map<String, Object>> getStrategyStatistics() {
+        return strategySelector.getStatistics();
+    }
+    
+    /**
+     * Describes every setting that affects the schedule produced for a given task set
+     * Two calls with the same task set and configuration key give the same schedule
+     */
+    public String getConfigurationKey() {
+        return "testMode=" + testMode +
+            ";flexibility=" + deadlineFlexibility +
+            ";highPriorityThreshold=" + highPriorityWeightThreshold +
+            ";highPriorityExtraFlexibility=" + highPriorityExtraFlexibility +
+            ";dpTaskLimit=" + dpTaskLimit +
+            ";subsetSearchTaskLimit=" + subsetSearchTaskLimit +
+            ";largeInstanceTaskLimit=" + largeInstanceTaskLimit +
+            ";parallelism=" + parallelism +
+            ";portfolio=" + portfolioEnabled +
+            ";beamWidth=" + beamSearch.getWidth() +
+            ";transpositionTableMb=" + getTranspositionTableMegabytes() +
+            ";defaultTimeLimitMs=" + defaultTimeLimitMillis;
+    }
+    
+    /**
+     * Records that a task was created, updated or deleted
+     * The next search starts from the previous schedule, repaired for the changed task
+     */
+    public void onTaskChanged(Long taskId) {
+        warmStart.taskChanged(taskId);
+    }
+    
+    /**
+     * Stops the parallel search workers when the service shuts down
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (searchPool != null) {
+            searchPool.shutdown();
+            searchPool = null;
+        }
+        if (portfolioExecutor != null) {
+            portfolioExecutor.shutdown();
+            portfolioExecutor = null;
+        }
+    }
+    
+    /**
+     * Strategies the portfolio races on an instance: every applicable one that respects
+     * deadlines, with the subset DP only up to the DP task limit
+     */
+    private List<SchedulingStrategy> portfolioMembers(InstanceFeatures features) {
+        return strategySelector.getStrategies().stream()
+            .filter(strategy -> !(strategy instanceof PortfolioStrategy))
+            .filter(strategy -> strategy.respectsDeadlines() && strategy.isApplicable(features))
+            .filter(strategy -> !SubsetDpStrategy.NAME.equals(strategy.getName()) || 
+                features.getTaskCount() <= dpTaskLimit)
+            .collect(Collectors.toList());
+    }
+    
+    private synchronized ExecutorService portfolioExecutor() {
+        if (portfolioExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            portfolioExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "scheduler-portfolio-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return portfolioExecutor;
+    }
+    
     /**
      * Main method to schedule tasks
-     * Implements a backtracking algorithm with branch and bound to maximize total weight
-     * while respecting deadlines and dependencies
+     * Maximizes total weight while respecting deadlines and dependencies, with the
+     * strategy the selector picks for the shape of the instance (the time-indexed DP for
+     * task sets without dependencies or with simple chains, the subset DP for small task sets, the include/exclude subset search for mid-size ones, backtracking with
+     * branch and bound for larger ones and large-neighbourhood search for the largest,
+     * until measured solve times say better)
      */
     public List<Task> scheduleTasks(List<Task> tasks) {
+        return scheduleTasks(tasks, new SolverOptions()).getSchedule();
+    }
+    
+    /**
+     * Schedules tasks within a time and node budget
+     * When the budget runs out the best schedule found so far is returned together with
+     * the best proven upper bound, so callers can judge how far from optimal it may be.
+     * The run's statistics come with the result and go to the metrics registry.
+     */
+    public ScheduleResult scheduleTasks(List<Task> tasks, SolverOptions options) {
+        SolverStatistics statistics = new SolverStatistics();
+        ScheduleResult result = schedule(tasks, options, statistics);
+        publishStatistics(result);
+        return result;
+    }
+    
+    private ScheduleResult schedule(List<Task> tasks, SolverOptions options, SolverStatistics statistics) {
         if (tasks == null || tasks.isEmpty()) {
-            return new ArrayList<>();
+            return ScheduleResult.empty("none", statistics);
         }
+        statistics.setTaskCount(tasks.size());
+        long phaseStart = System.nanoTime();
         
-        System.out.println("Scheduling " + tasks.size() + " tasks. Test mode: " + testMode + 
-            ", Deadline flexibility: " + deadlineFlexibility);
+        // A strategy pinned by the request wins; test mode defaults to dependency order
+        SchedulingStrategy strategy = options.getStrategy() != null ? strategySelector.get(options.getStrategy()) 
+            : testMode ? strategySelector.get(DependencyOrderStrategy.NAME) : null;
+        
+        long timeLimitMillis = options.getTimeLimitMillis() > 0 ? options.getTimeLimitMillis() : defaultTimeLimitMillis;
+        SearchBudget budget = new SearchBudget(timeLimitMillis, options.getNodeLimit());
+        SolverTrace.Run trace = this.trace.startRun("Schedule " + tasks.size() + " tasks");
+        long datasetVersion = warmStart.currentVersion();
+        
+        trace.summary("Scheduling " + tasks.size() + " tasks. Test mode: " + testMode + 
+            ", Deadline flexibility: " + deadlineFlexibility + ", Time limit: " + timeLimitMillis + 
+            " ms, Node limit: " + options.getNodeLimit());
+        
+        // Fix "today" once for the run and precompute every task's deadlines and duration
+        LocalDate referenceDate = options.getReferenceDate() != null ? options.getReferenceDate() : LocalDate.now();
+        SchedulingContext context = new SchedulingContext(tasks, referenceDate, 
+            (task, deadline) -> calculateFlexibleDeadline(task, deadline, trace));
         
         // Create a map for easy task lookup
         Map<Long, Task> taskMap = createTaskMap(tasks);
         
-        // Check for circular dependencies before scheduling
-        Set<List<Long>> cycles = detectCycles(tasks);
-        if (!cycles.isEmpty()) {
+        // Check for circular dependencies before scheduling (one linear pass over the whole graph)
+        CompiledTaskGraph fullGraph = CompiledTaskGraph.compile(tasks, context);
+        DependencyCycles cycles = DependencyCycles.analyze(fullGraph);
+        if (cycles.hasCycles()) {
             if (!testMode) {
-                throw new CircularDependencyException("Circular dependencies detected");
+                throw new CircularDependencyException("Circular dependencies detected: " + cycles.describe());
             } else {
-                System.out.println("WARNING: Circular dependencies detected. Continuing in test mode.");
+                trace.summary("WARNING: Circular dependencies detected. Continuing in test mode. " + cycles.describe());
             }
         }
+        phaseStart = statistics.phaseDone(SolverStatistics.Phase.CYCLE_CHECK, phaseStart);
         
-        // If in test mode, simply schedule all tasks in dependency order
-        if (testMode) {
-            System.out.println("Test mode ON - scheduling all tasks in dependency order");
-            return scheduleTasksInDependencyOrder(tasks);
+        // Strategies that ignore deadlines (test mode by default) schedule every task
+        if (strategy != null && !strategy.respectsDeadlines()) {
+            if (testMode) {
+                trace.summary("Test mode ON - scheduling all tasks in dependency order");
+            }
+            List<Task> ordered = scheduleIgnoringDeadlines(strategy, fullGraph, context, cycles, budget, trace,
+                statistics);
+            statistics.phaseDone(SolverStatistics.Phase.SEARCH, phaseStart);
+            return new ScheduleResult(ordered, 0, true, strategy.getName(), 0, statistics);
         }
         
         // Build the dependency graph
         Map<Long, Set<Long>> dependsOn = buildDependencyGraph(tasks); // task -> dependencies
-        Map<Long, Set<Long>> dependedBy = buildDependentsGraph(tasks, taskMap); // task -> dependent tasks
-        
-        // Calculate earliest start times based on dependencies
-        Map<Long, Integer> earliestStartTimes = calculateEarliestStartTimes(tasks, taskMap, dependsOn);
         
-        // Filter tasks that cannot meet their deadlines individually
-        List<Task> validTasks = filterTasksByDeadlines(tasks, earliestStartTimes);
+        // Drop tasks that can never fit, with everything depending on them, and implied dependencies
+        ConstraintPropagation propagation = ConstraintPropagation.propagate(fullGraph);
+        trace.summary(propagation.describe());
+        for (Task task : propagation.getRemovedTasks()) {
+            trace.detail(() -> "Task " + task.getId() + " (" + task.getName() + 
+                ") can never be part of a feasible schedule, removed");
+        }
+        phaseStart = statistics.phaseDone(SolverStatistics.Phase.PROPAGATION, phaseStart);
         
         // If no tasks can meet their deadlines, return empty list
-        if (validTasks.isEmpty()) {
-            System.out.println("No tasks can meet their deadlines after considering dependencies");
-            return new ArrayList<>();
+        CompiledTaskGraph candidates = propagation.getReducedGraph();
+        if (candidates.size() == 0) {
+            trace.summary("No tasks can meet their deadlines after considering dependencies");
+            return ScheduleResult.empty("none", statistics);
+        }
+        
+        // Chain interchangeable tasks so that each batch of them is searched in one order only
+        SymmetryBreaking symmetry = SymmetryBreaking.apply(candidates);
+        if (symmetry.getClassCount() > 0) {
+            trace.summary("Symmetry breaking: " + symmetry.getInterchangeableTaskCount() + 
+                " interchangeable tasks in " + symmetry.getClassCount() + " classes");
+        }
+        CompiledTaskGraph graph = symmetry.getGraph();
+        
+        // Pick the engine from the shape of the instance, unless the request pinned one
+        InstanceFeatures features = InstanceFeatures.of(graph);
+        if (strategy == null) {
+            strategy = portfolioEnabled ? strategySelector.get(PortfolioStrategy.NAME) : strategySelector.select(features);
+        } else if (!strategy.isApplicable(features)) {
+            throw new IllegalArgumentException("Scheduling strategy " + strategy.getName() + 
+                " cannot schedule " + graph.size() + " tasks");
+        }
+        trace.summary("Using strategy " + strategy.getName() + (options.getStrategy() != null ? " (pinned)" : "") + 
+            " for " + features);
+        
+        // Best solution tracker, shared by all workers in parallel mode
+        SharedIncumbent<int[]> incumbent = createIncumbent(candidates, symmetry, options, trace, statistics);
+        long solveStart = statistics.phaseDone(SolverStatistics.Phase.PREPARATION, phaseStart);
+        strategy.solve(new SchedulingProblem(graph, incumbent, budget, trace, searchPool, options.getSeed(),
+            statistics));
+        phaseStart = statistics.phaseDone(SolverStatistics.Phase.SEARCH, solveStart);
+        strategySelector.record(strategy, features, (phaseStart - solveStart) / 1e6, budget.isExhausted());
+        
+        // A heuristic proves nothing by itself; bound its schedule from the root
+        if (!strategy.isExact()) {
+            budget.recordUnexplored(rootUpperBound(graph, incumbent.getBestWeight()));
+        }
+        String engine = strategy.getName();
+        List<Task> bestSchedule = graph.toTasks(incumbent.getBestSchedule());
+        int upperBoundWeight = budget.provenUpperBound(incumbent.getBestWeight());
+        boolean optimal = strategy.isExact() ? !budget.isExhausted() : upperBoundWeight <= incumbent.getBestWeight();
+        
+        trace.summary("Search expanded " + budget.getNodeCount() + " nodes, best weight: " + 
+            incumbent.getBestWeight());
+        if (!optimal) {
+            trace.summary("Schedule not proven optimal. Upper bound: " + upperBoundWeight);
         }
         
-        // Find initially available tasks (those with no dependencies within valid set)
-        Set<Task> initialAvailable = findInitialAvailableTasks(validTasks, taskMap);
-        
-        // Initialize the best solution trackers
-        List<Task> bestSchedule = new ArrayList<>();
-        int[] bestTotalWeight = new int[1]; // Use array to allow modification in lambda
-        
-        // Start the recursive backtracking from time 0
-        backtrack(0, new ArrayList<>(), initialAvailable, validTasks, taskMap, 
-                 dependsOn, dependedBy, bestSchedule, bestTotalWeight);
-        
         // If no valid schedule found, try to schedule individual tasks that can meet deadlines
         if (bestSchedule.isEmpty()) {
-            System.out.println("No complete schedule found from backtracking, checking for independent tasks");
+            trace.summary("No complete schedule found from backtracking, checking for independent tasks");
             
-            // Filter tasks that don't depend on other valid tasks and can meet deadlines
+            // Filter tasks that don't depend on other candidate tasks and can meet deadlines
+            List<Task> validTasks = new ArrayList<>(graph.size());
+            for (int i = 0; i < graph.size(); i++) {
+                validTasks.add(graph.task(i));
+            }
+            Set<Long> validIds = validTasks.stream().map(Task::getId).collect(Collectors.toSet());
             List<Task> independentTasks = validTasks.stream()
                 .filter(task -> {
                     // Check if dependencies are empty or not in valid tasks
-                    boolean hasNoValidDependencies = task.getDependenciesSet().isEmpty() || 
-                        task.getDependenciesSet().stream()
-                            .noneMatch(depId -> validTasks.stream()
-                                .anyMatch(t -> t.getId().equals(depId)));
+                    boolean hasNoValidDependencies = task.getDependenciesSet().stream()
+                        .noneMatch(validIds::contains);
                             
-                    // Check if it can meet deadline independently (with flexibility)
-                    int est = earliestStartTimes.getOrDefault(task.getId(), 0);
-                    int endTime = est + task.getDurationInDays();
-                    int deadline = task.getDeadlineAsInt();
-                    int flexibleDeadline = calculateFlexibleDeadline(task);
+                    // Check if it can meet deadline on its own (with flexibility)
+                    int endTime = context.getDuration(task);
+                    int deadline = context.getDeadline(task);
+                    int flexibleDeadline = context.getFlexibleDeadline(task);
                     boolean meetsDeadline = endTime <= flexibleDeadline;
                     
-                    System.out.println("Checking independent task " + task.getId() + " (" + task.getName() + 
+                    trace.detail(() -> "Checking independent task " + task.getId() + " (" + task.getName() + 
                         "): hasNoValidDependencies=" + hasNoValidDependencies + 
                         ", endTime=" + endTime + 
                         ", deadline=" + deadline +
@@ -175,27 +648,33 @@ public class SchedulerService {
                 .collect(Collectors.toList());
                 
             if (!independentTasks.isEmpty()) {
-                // Sort by weight (descending)
-                independentTasks.sort(Comparator.comparing(Task::getWeight).reversed());
-                
-                // Take tasks until we hit deadline conflicts
+                // Without dependencies the best set is a knapsack over the deadlines, solved exactly
+                int[] members = independentTasks.stream().mapToInt(task -> graph.indexOf(task.getId())).toArray();
+                int[] chosen = TimeIndexedDpSolver.solveSubset(graph, members, SearchBudget.unlimited());
                 List<Task> scheduleableIndependentTasks = new ArrayList<>();
-                int currentTime = 0;
-                
-                for (Task task : independentTasks) {
-                    int taskEndTime = currentTime + task.getDurationInDays();
-                    int flexibleDeadline = calculateFlexibleDeadline(task);
-                    
-                    if (taskEndTime <= flexibleDeadline) {
-                        task.setEarliestStartTime(currentTime);
-                        task.setEndTime(taskEndTime);
-                        scheduleableIndependentTasks.add(task);
-                        currentTime = taskEndTime;
+                if (chosen != null) {
+                    scheduleableIndependentTasks = graph.toTasks(chosen);
+                } else {
+                    // Table too large: take tasks by weight (descending) until we hit deadline conflicts
+                    independentTasks.sort(Comparator.comparing(Task::getWeight).reversed());
+                    int currentTime = 0;
+                    for (Task task : independentTasks) {
+                        int taskEndTime = currentTime + context.getDuration(task);
+                        if (taskEndTime <= context.getFlexibleDeadline(task)) {
+                            scheduleableIndependentTasks.add(task);
+                            currentTime = taskEndTime;
+                        }
                     }
                 }
+                int currentTime = 0;
+                for (Task task : scheduleableIndependentTasks) {
+                    task.setEarliestStartTime(currentTime);
+                    currentTime += context.getDuration(task);
+                    task.setEndTime(currentTime);
+                }
                 
                 if (!scheduleableIndependentTasks.isEmpty()) {
-                    System.out.println("Found " + scheduleableIndependentTasks.size() + 
+                    trace.summary("Found " + scheduleableIndependentTasks.size() + 
                         " individual tasks that can be scheduled independently");
                     bestSchedule = scheduleableIndependentTasks;
                 }
@@ -204,137 +683,128 @@ public class SchedulerService {
         
         // If still no valid schedule, return empty list
         if (bestSchedule.isEmpty()) {
-            System.out.println("No valid schedule found");
-            return new ArrayList<>();
+            trace.summary("No valid schedule found");
+            statistics.phaseDone(SolverStatistics.Phase.POST_PROCESSING, phaseStart);
+            return new ScheduleResult(new ArrayList<>(), upperBoundWeight, optimal, 
+                engine, budget.getNodeCount(), statistics);
         }
         
+        // Keep the execution order to seed the next search
+        warmStart.record(bestSchedule, datasetVersion);
+        
         // Calculate and set start/end times for the tasks in the best schedule
-        calculateStartAndEndTimes(bestSchedule, dependsOn, taskMap);
+        calculateStartAndEndTimes(bestSchedule, dependsOn, taskMap, context);
         
         // Sort tasks by start time
         bestSchedule.sort(Comparator.comparingInt(Task::getEarliestStartTime));
         
         // Log the final schedule
-        logFinalSchedule(bestSchedule);
+        logFinalSchedule(bestSchedule, context, trace);
+        statistics.phaseDone(SolverStatistics.Phase.POST_PROCESSING, phaseStart);
         
-        return bestSchedule;
+        return new ScheduleResult(bestSchedule, upperBoundWeight, optimal, 
+            engine, budget.getNodeCount(), statistics);
     }
     
     /**
-     * Recursive backtracking function to explore all valid schedules
+     * Publishes a run's statistics to the metrics registry, tagged with the engine and
+     * the task count rounded up to a power of two so slow classes of task graphs stand out
      */
-    private void backtrack(int currentTime, List<Task> scheduled, Set<Task> available, 
-                         List<Task> allTasks, Map<Long, Task> taskMap,
-                         Map<Long, Set<Long>> dependsOn, Map<Long, Set<Long>> dependedBy,
-                         List<Task> bestSchedule, int[] bestTotalWeight) {
-        
-        // Calculate current total weight
-        int currentWeight = scheduled.stream().mapToInt(Task::getWeight).sum();
-        
-        // Check if current schedule is better than best so far, even if not all tasks are scheduled
-        if (currentWeight > bestTotalWeight[0]) {
-            bestTotalWeight[0] = currentWeight;
-            bestSchedule.clear();
-            bestSchedule.addAll(scheduled);
-            System.out.println("Found better schedule with weight " + currentWeight + 
-                " and " + scheduled.size() + " tasks");
-        }
-        
-        // Calculate maximum potential additional weight (for branch and bound)
-        int maxAdditionalWeight = available.stream().mapToInt(Task::getWeight).sum();
-        
-        // Branch and bound: prune if we can't beat the best solution
-        if (currentWeight + maxAdditionalWeight <= bestTotalWeight[0]) {
+    private void publishStatistics(ScheduleResult result) {
+        MeterRegistry registry = this.meterRegistry;
+        if (registry == null) {
             return;
         }
-        
-        // Base case: no more available tasks or all tasks scheduled
-        if (available.isEmpty()) {
-            return;
-        }
-        
-        // Try each available task
-        List<Task> availableList = new ArrayList<>(available);
-        
-        // Sort by weight (descending) to improve branch and bound efficiency
-        availableList.sort(Comparator.comparing(Task::getWeight).reversed());
-        
-        for (Task task : availableList) {
-            // Check if the task can meet its deadline (with flexibility)
-            int endTime = currentTime + task.getDurationInDays();
-            int deadline = task.getDeadlineAsInt();
-            int flexibleDeadline = calculateFlexibleDeadline(task);
-            
-            // Add detailed logging to see why Task A might be rejected
-            System.out.println("Considering task " + task.getId() + " (" + task.getName() + "): " +
-                "currentTime=" + currentTime + ", duration=" + task.getDurationInDays() + 
-                ", endTime=" + endTime + ", deadline=" + deadline + 
-                ", flexibleDeadline=" + flexibleDeadline);
-            
-            if (endTime <= flexibleDeadline) {
-                // Schedule this task
-                scheduled.add(task);
-                available.remove(task);
-                
-                // Find newly available tasks
-                Set<Task> newAvailable = findNewlyAvailableTasks(
-                    available, scheduled, task, dependedBy, taskMap);
-                
-                // Recurse with the updated state
-                backtrack(endTime, scheduled, newAvailable, allTasks, taskMap,
-                        dependsOn, dependedBy, bestSchedule, bestTotalWeight);
-                
-                // Backtrack: undo this scheduling choice
-                scheduled.remove(scheduled.size() - 1);
-                available.add(task);
-            } else {
-                System.out.println("Task " + task.getId() + " (" + task.getName() + ") rejected: " +
-                    "endTime=" + endTime + " > flexibleDeadline=" + flexibleDeadline);
-            }
+        SolverStatistics statistics = result.getStatistics();
+        String engine = result.getEngine();
+        String size = String.valueOf(statistics.getTaskCount() <= 1 ? statistics.getTaskCount()
+            : Integer.highestOneBit(statistics.getTaskCount() - 1) << 1);
+        
+        Timer.builder("scheduler.run.duration")
+            .description("Time of a scheduling run")
+            .tags("engine", engine, "tasks", size, "optimal", String.valueOf(result.isOptimal()))
+            .register(registry)
+            .record((long) (statistics.getTotalMillis() * 1e6), TimeUnit.NANOSECONDS);
+        for (SolverStatistics.Phase phase : SolverStatistics.Phase.values()) {
+            Timer.builder("scheduler.phase.duration")
+                .description("Time of a scheduling run spent in one phase")
+                .tags("phase", SolverStatistics.phaseKey(phase), "engine", engine)
+                .register(registry)
+                .record((long) (statistics.getPhaseMillis(phase) * 1e6), TimeUnit.NANOSECONDS);
+        }
+        DistributionSummary.builder("scheduler.run.nodes")
+            .description("Search nodes expanded by a scheduling run")
+            .tags("engine", engine, "tasks", size)
+            .register(registry)
+            .record(statistics.getNodeCount());
+        DistributionSummary.builder("scheduler.run.depth")
+            .description("Deepest search node of a scheduling run")
+            .tags("engine", engine)
+            .register(registry)
+            .record(statistics.getMaxDepth());
+        DistributionSummary.builder("scheduler.run.improvements")
+            .description("Times a scheduling run improved its best schedule")
+            .tags("engine", engine)
+            .register(registry)
+            .record(statistics.getImprovementCount());
+        if (statistics.getTableLookups() > 0) {
+            Counter.builder("scheduler.transposition.lookups")
+                .description("Transposition table lookups of backtracking, by whether they pruned the state")
+                .tags("result", "hit")
+                .register(registry)
+                .increment(statistics.getTableHits());
+            Counter.builder("scheduler.transposition.lookups")
+                .description("Transposition table lookups of backtracking, by whether they pruned the state")
+                .tags("result", "miss")
+                .register(registry)
+                .increment(statistics.getTableLookups() - statistics.getTableHits());
+        }
+        for (SolverStatistics.PruneReason reason : SolverStatistics.PruneReason.values()) {
+            Counter.builder("scheduler.prunes")
+                .description("Search nodes and candidate tasks cut off, by reason")
+                .tags("reason", reason.name().toLowerCase(), "engine", engine)
+                .register(registry)
+                .increment(statistics.getPrunes(reason));
         }
     }
     
     /**
-     * Find tasks that become available after scheduling a task
+     * Create the best-solution tracker for a search, seeded with the repaired previous
+     * schedule when warm starting is enabled
      */
-    private Set<Task> findNewlyAvailableTasks(Set<Task> currentAvailable, List<Task> scheduled, 
-                                           Task justScheduled, Map<Long, Set<Long>> dependedBy,
-                                           Map<Long, Task> taskMap) {
-        Set<Task> newAvailable = new HashSet<>(currentAvailable);
-        
-        // Set of scheduled task IDs for quick lookup
-        Set<Long> scheduledIds = scheduled.stream()
-            .map(Task::getId)
-            .collect(Collectors.toSet());
-        
-        // Check tasks that depend on the just scheduled task
-        Set<Long> dependentIds = dependedBy.getOrDefault(justScheduled.getId(), new HashSet<>());
-        
-        for (Long dependentId : dependentIds) {
-            Task dependent = taskMap.get(dependentId);
-            if (dependent == null) continue;
-            
-            // Skip if already available or scheduled
-            if (currentAvailable.contains(dependent) || scheduledIds.contains(dependentId)) {
-                continue;
-            }
-            
-            // Check if all dependencies of this task are satisfied
-            boolean allDependenciesMet = true;
-            for (Long depId : dependent.getDependenciesSet()) {
-                if (!scheduledIds.contains(depId)) {
-                    allDependenciesMet = false;
-                    break;
-                }
-            }
-            
-            // If all dependencies are met, add to available
-            if (allDependenciesMet) {
-                newAvailable.add(dependent);
+    private SharedIncumbent<int[]> createIncumbent(CompiledTaskGraph candidates, SymmetryBreaking symmetry,
+                                                   SolverOptions options, SolverTrace.Run trace,
+                                                   SolverStatistics statistics) {
+        if (!options.isWarmStart()) {
+            return new SharedIncumbent<>(0, new int[0], statistics::improved);
+        }
+        // Repair against the real dependencies, then relabel batches into the searched order
+        int[] seed = symmetry.canonicalize(warmStart.seed(candidates));
+        int seedWeight = candidates.totalWeight(seed);
+        if (seed.length > 0) {
+            trace.summary("Warm start from the schedule of dataset version " + warmStart.storedVersion() + 
+                ": " + seed.length + " tasks, weight " + seedWeight);
+        }
+        if (seedWeight > 0) {
+            statistics.improved(seedWeight);
+        }
+        return new SharedIncumbent<>(seedWeight, seed, statistics::improved);
+    }
+    
+    /**
+     * Upper bound on the best weight of a whole instance, used to judge heuristic schedules
+     * Above ROOT_BOUND_TASK_LIMIT tasks it is simply the total weight
+     */
+    private int rootUpperBound(CompiledTaskGraph graph, int bestWeight) {
+        int n = graph.size();
+        if (n > ROOT_BOUND_TASK_LIMIT) {
+            int total = 0;
+            for (int i = 0; i < n; i++) {
+                total += graph.task(i).getWeight();
             }
+            return total;
         }
-        
-        return newAvailable;
+        return new ScheduleUpperBound(graph).bound(0, new BitSet(n), new ScheduleUpperBound.Scratch(n), bestWeight);
     }
     
     /**
@@ -358,112 +828,18 @@ public class SchedulerService {
         return dependsOn;
     }
     
-    /**
-     * Build a graph of task dependents (what tasks depend on each task)
-     */
-    private Map<Long, Set<Long>> buildDependentsGraph(List<Task> tasks, Map<Long, Task> taskMap) {
-        Map<Long, Set<Long>> dependedBy = new HashMap<>();
-        
-        // Initialize the map
-        for (Task task : tasks) {
-            dependedBy.put(task.getId(), new HashSet<>());
-        }
-        
-        // Populate the map
-        for (Task task : tasks) {
-            for (Long depId : task.getDependenciesSet()) {
-                if (taskMap.containsKey(depId)) {
-                    dependedBy.get(depId).add(task.getId());
-                }
-            }
-        }
-        
-        return dependedBy;
-    }
-    
-    /**
-     * Calculate the earliest possible start time for each task based on dependencies
-     */
-    private Map<Long, Integer> calculateEarliestStartTimes(List<Task> tasks, Map<Long, Task> taskMap,
-                                                       Map<Long, Set<Long>> dependsOn) {
-        // Build the dependency graph for topological sorting
-        Map<Long, List<Long>> graph = new HashMap<>();
-        Map<Long, Integer> inDegree = new HashMap<>();
-
-        // Initialize
-        for (Task task : tasks) {
-            graph.put(task.getId(), new ArrayList<>());
-            inDegree.put(task.getId(), 0);
-        }
-
-        // Build graph for topological sort
-        for (Task task : tasks) {
-            for (Long depId : task.getDependenciesSet()) {
-                if (taskMap.containsKey(depId)) {
-                    graph.get(depId).add(task.getId()); // depId -> task
-                inDegree.put(task.getId(), inDegree.get(task.getId()) + 1);
-                }
-            }
-        }
-        
-        // Calculate earliest start times using topological sort
-        Map<Long, Integer> earliestStartTimes = new HashMap<>();
-        Queue<Long> queue = new LinkedList<>();
-        
-        // Add tasks with no dependencies to the queue
-        for (Task task : tasks) {
-            if (inDegree.get(task.getId()) == 0) {
-                queue.add(task.getId());
-                earliestStartTimes.put(task.getId(), 0); // Can start at time 0
-                System.out.println("Task " + task.getId() + " (" + task.getName() + 
-                    ") has no dependencies, earliest start time = 0");
-            }
-        }
-
-        // Process tasks in topological order
-        while (!queue.isEmpty()) {
-            Long taskId = queue.poll();
-            Task task = taskMap.get(taskId);
-            int endTime = earliestStartTimes.get(taskId) + task.getDurationInDays();
-            
-            System.out.println("Task " + taskId + " (" + task.getName() + 
-                "): EST=" + earliestStartTimes.get(taskId) + ", duration=" + 
-                task.getDurationInDays() + ", end time=" + endTime);
-            
-            // Update earliest start times for dependent tasks
-            for (Long dependentId : graph.get(taskId)) {
-                // Update earliest start time
-                int previousEST = earliestStartTimes.getOrDefault(dependentId, 0);
-                int newEST = Math.max(previousEST, endTime);
-                earliestStartTimes.put(dependentId, newEST);
-                
-                System.out.println("  Dependent Task " + dependentId + " (" + 
-                    taskMap.get(dependentId).getName() + "): previous EST=" + 
-                    previousEST + ", new EST=" + newEST);
-                
-                // Update in-degree and add to queue if all dependencies processed
-                inDegree.put(dependentId, inDegree.get(dependentId) - 1);
-                if (inDegree.get(dependentId) == 0) {
-                    queue.add(dependentId);
-                }
-            }
-        }
-        
-        return earliestStartTimes;
-    }
-    
     /**
      * Calculate the flexible deadline for a task based on its properties
      * High-weight tasks get extra flexibility
+     * Called once per task when the scheduling context of a run is built
      */
-    private int calculateFlexibleDeadline(Task task) {
-        int deadline = task.getDeadlineAsInt();
-        double flexibility = deadlineFlexibility;
+    private int calculateFlexibleDeadline(Task task, int deadline, SolverTrace.Run trace) {
+        boolean highPriority = task.getWeight() >= highPriorityWeightThreshold;
         
         // Give extra flexibility to high-priority tasks
-        if (task.getWeight() >= highPriorityWeightThreshold) {
-            flexibility += highPriorityExtraFlexibility;
-            System.out.println("Task " + task.getId() + " (" + task.getName() + 
+        double flexibility = highPriority ? deadlineFlexibility + highPriorityExtraFlexibility : deadlineFlexibility;
+        if (highPriority) {
+            trace.detail(() -> "Task " + task.getId() + " (" + task.getName() + 
                 ") is high priority (weight " + task.getWeight() + 
                 "), getting extra flexibility: " + flexibility);
         }
@@ -471,61 +847,11 @@ public class SchedulerService {
         return deadline + (int)(deadline * flexibility);
     }
     
-    /**
-     * Filter tasks that cannot meet their deadlines
-     */
-    private List<Task> filterTasksByDeadlines(List<Task> tasks, Map<Long, Integer> earliestStartTimes) {
-        return tasks.stream()
-            .filter(task -> {
-                int est = earliestStartTimes.getOrDefault(task.getId(), 0);
-                int endTime = est + task.getDurationInDays();
-                int deadline = task.getDeadlineAsInt();
-                int flexibleDeadline = calculateFlexibleDeadline(task);
-                boolean canMeetDeadline = endTime <= flexibleDeadline;
-                
-                // Add more detailed logging
-                System.out.println("Checking if task " + task.getId() + " (" + task.getName() + 
-                    ") can meet deadline: EST=" + est + ", duration=" + task.getDurationInDays() + 
-                    ", endTime=" + endTime + ", deadline=" + deadline +
-                    ", flexibleDeadline=" + flexibleDeadline +
-                    ", canMeetDeadline=" + canMeetDeadline);
-                
-                if (!canMeetDeadline) {
-                    System.out.println("Task " + task.getId() + " would exceed its deadline. " +
-                        "End time: " + endTime + ", FlexibleDeadline: " + flexibleDeadline);
-                }
-                
-                return canMeetDeadline;
-            })
-            .collect(Collectors.toList());
-    }
-    
-    /**
-     * Find initially available tasks (those with no dependencies)
-     */
-    private Set<Task> findInitialAvailableTasks(List<Task> tasks, Map<Long, Task> taskMap) {
-        Set<Long> allTaskIds = tasks.stream()
-            .map(Task::getId)
-            .collect(Collectors.toSet());
-            
-        return tasks.stream()
-            .filter(task -> {
-                // Check if all dependencies of this task are outside our task set
-                for (Long depId : task.getDependenciesSet()) {
-                    if (allTaskIds.contains(depId)) {
-                        return false;
-                    }
-                }
-                return true;
-            })
-            .collect(Collectors.toSet());
-    }
-    
     /**
      * Calculate and set start/end times for tasks in the final schedule
      */
     private void calculateStartAndEndTimes(List<Task> schedule, Map<Long, Set<Long>> dependsOn,
-                                       Map<Long, Task> taskMap) {
+                                       Map<Long, Task> taskMap, SchedulingContext context) {
         // Sort tasks topologically
         List<Task> sortedTasks = topologicalSort(schedule, dependsOn, taskMap);
         
@@ -543,12 +869,13 @@ public class SchedulerService {
             }
             
             // Set start and end times
+            int endTime = earliestStartTime + context.getDuration(task);
             startTimes.put(task.getId(), earliestStartTime);
-            endTimes.put(task.getId(), earliestStartTime + task.getDurationInDays());
+            endTimes.put(task.getId(), endTime);
             
             // Update the task object
             task.setEarliestStartTime(earliestStartTime);
-            task.setEndTime(earliestStartTime + task.getDurationInDays());
+            task.setEndTime(endTime);
         }
     }
     
@@ -604,105 +931,40 @@ public class SchedulerService {
     }
     
     /**
-     * Schedule tasks in dependency order (for test mode - ignore deadlines)
+     * Schedule every task with a strategy that ignores deadlines (test mode)
      */
-    private List<Task> scheduleTasksInDependencyOrder(List<Task> tasks) {
-        // Create map for task lookup
-        Map<Long, Task> taskMap = createTaskMap(tasks);
-        
-        // Build dependency graph for topological sort
-        Map<Long, List<Long>> graph = new HashMap<>();
-        Map<Long, Integer> inDegree = new HashMap<>();
-        
-        // Initialize
-        for (Task task : tasks) {
-            graph.put(task.getId(), new ArrayList<>());
-            inDegree.put(task.getId(), 0);
-        }
-        
-        // Build graph
-        for (Task task : tasks) {
-            for (Long depId : task.getDependenciesSet()) {
-                if (taskMap.containsKey(depId)) {
-                    graph.get(depId).add(task.getId());
-                    inDegree.put(task.getId(), inDegree.get(task.getId()) + 1);
-                }
+    private List<Task> scheduleIgnoringDeadlines(SchedulingStrategy strategy, CompiledTaskGraph fullGraph,
+                                                 SchedulingContext context, DependencyCycles cycles,
+                                                 SearchBudget budget, SolverTrace.Run trace,
+                                                 SolverStatistics statistics) {
+        CompiledTaskGraph graph = fullGraph;
+        
+        // Break the cycles found by the validator by dropping the dependencies it proposes
+        if (cycles.hasCycles()) {
+            trace.summary("Breaking cycles for scheduling in test mode:");
+            for (long[] edge : cycles.getEdgesToBreak()) {
+                Task dependent = fullGraph.task(fullGraph.indexOf(edge[0]));
+                Task dependency = fullGraph.task(fullGraph.indexOf(edge[1]));
+                trace.detail(() -> "Breaking dependency of " + dependent.getId() + " (" + 
+                    dependent.getName() + ") on " + dependency.getId() + " (" + dependency.getName() + ")");
             }
+            graph = cycles.withoutCycles(fullGraph);
         }
         
-        // Detect cycles before sorting
-        Set<List<Long>> cycles = detectCycles(tasks);
-        if (!cycles.isEmpty()) {
-            System.out.println("Breaking cycles for scheduling in test mode:");
-            // Break each cycle by removing one dependency connection
-            for (List<Long> cycle : cycles) {
-                if (cycle.size() >= 2) {
-                    Long source = cycle.get(cycle.size() - 1);
-                    Long target = cycle.get(0);
-                    
-                    System.out.println("Breaking dependency from " + source + " (" + 
-                        taskMap.get(source).getName() + ") to " + target + " (" + 
-                        taskMap.get(target).getName() + ")");
-                    
-                    // Remove the dependency in the graph
-                    graph.get(source).remove(target);
-                    inDegree.put(target, inDegree.get(target) - 1);
-                }
-            }
-        }
-        
-        // Topological sort
-        List<Task> sortedTasks = new ArrayList<>();
-        Queue<Long> queue = new LinkedList<>();
-        
-        // Add nodes with no dependencies
-        for (Map.Entry<Long, Integer> entry : inDegree.entrySet()) {
-            if (entry.getValue() == 0) {
-                queue.add(entry.getKey());
-            }
-        }
-        
-        while (!queue.isEmpty()) {
-            Long taskId = queue.poll();
-            Task task = taskMap.get(taskId);
-            sortedTasks.add(task);
-            
-            for (Long nextId : graph.get(taskId)) {
-                inDegree.put(nextId, inDegree.get(nextId) - 1);
-                if (inDegree.get(nextId) == 0) {
-                    queue.add(nextId);
-                }
-            }
-        }
-        
-        // If not all tasks were sorted, there might still be cycles or disconnected components
-        if (sortedTasks.size() < tasks.size()) {
-            Set<Long> sortedIds = sortedTasks.stream()
-                .map(Task::getId)
-                .collect(Collectors.toSet());
-            
-            System.out.println("Not all tasks were included in topological sort. Adding remaining tasks.");
-            
-            // Add remaining tasks - for circular dependencies
-            for (Task task : tasks) {
-                if (!sortedIds.contains(task.getId())) {
-                    System.out.println("Adding task outside of topological order: " + 
-                        task.getId() + " (" + task.getName() + ")");
-                    sortedTasks.add(task);
-                }
-            }
-        }
+        SharedIncumbent<int[]> incumbent = new SharedIncumbent<>(-1, new int[0]);
+        strategy.solve(new SchedulingProblem(graph, incumbent, budget, trace, null, 0, statistics));
+        List<Task> sortedTasks = graph.toTasks(incumbent.getBestSchedule());
         
         // Set start and end times sequentially
         int currentTime = 0;
         for (Task task : sortedTasks) {
             task.setEarliestStartTime(currentTime);
-            task.setEndTime(currentTime + task.getDurationInDays());
+            task.setEndTime(currentTime + context.getDuration(task));
             
             // Check if deadline would be violated (log but still include)
-            if (task.getEndTime() > task.getDeadlineAsInt()) {
-                System.out.println("Task " + task.getId() + " would exceed its deadline. " +
-                    "End time: " + task.getEndTime() + ", Deadline: " + task.getDeadlineAsInt());
+            if (task.getEndTime() > context.getDeadline(task)) {
+                trace.detail(() -> "Task " + task.getId() + " would exceed its deadline. " +
+                    "End time: " + task.getEndTime() + ", Deadline: " + context.getDeadline(task));
             }
             
             currentTime = task.getEndTime();
@@ -710,10 +972,10 @@ public class SchedulerService {
         
         // Check for deadline violations in the final schedule
         boolean deadlineViolations = sortedTasks.stream()
-            .anyMatch(task -> task.getEndTime() > task.getDeadlineAsInt());
+            .anyMatch(task -> task.getEndTime() > context.getDeadline(task));
             
         if (deadlineViolations) {
-            System.out.println("Deadline violations detected but ignored in test mode");
+            trace.summary("Deadline violations detected but ignored in test mode");
         }
         
         return sortedTasks;
@@ -722,88 +984,28 @@ public class SchedulerService {
     /**
      * Log the final schedule details
      */
-    private void logFinalSchedule(List<Task> schedule) {
-        System.out.println("\nFinal schedule:");
+    private void logFinalSchedule(List<Task> schedule, SchedulingContext context, SolverTrace.Run trace) {
+        trace.summary("Final schedule:");
         for (Task task : schedule) {
-            System.out.printf("Task %d (Weight: %d, Start: %d, End: %d, Deadline: %d)%n",
+            trace.summary(String.format("Task %d (Weight: %d, Start: %d, End: %d, Deadline: %d)",
                 task.getId(), task.getWeight(),
                 task.getEarliestStartTime(), task.getEndTime(),
-                task.getDeadlineAsInt());
+                context.getDeadline(task)));
                 
             // Optional: Check and log deadline violations
-            if (task.getEndTime() > task.getDeadlineAsInt()) {
-                System.out.println("Deadline violation: Task " + task.getId() + 
+            if (task.getEndTime() > context.getDeadline(task)) {
+                trace.summary("Deadline violation: Task " + task.getId() + 
                     " ends at time " + task.getEndTime() + 
-                    " which exceeds deadline " + task.getDeadlineAsInt());
+                    " which exceeds deadline " + context.getDeadline(task));
                     
                 if (testMode) {
-                    System.out.println("Task " + task.getId() + " exceeds its deadline, but it's allowed in test mode");
+                    trace.summary("Task " + task.getId() + " exceeds its deadline, but it's allowed in test mode");
                 }
             }
         }
         
         // Calculate total weight
         int totalWeight = schedule.stream().mapToInt(Task::getWeight).sum();
-        System.out.println("Total weight: " + totalWeight);
-    }
-    
-    /**
-     * Detect cycles in the dependency graph
-     * @return Set of cycles, where each cycle is a list of task IDs in the cycle
-     */
-    private Set<List<Long>> detectCycles(List<Task> tasks) {
-        Map<Long, Set<Long>> graph = new HashMap<>();
-        Set<List<Long>> cycles = new HashSet<>();
-        
-        // Build dependency graph
-        for (Task task : tasks) {
-            graph.put(task.getId(), new HashSet<>(task.getDependenciesSet()));
-        }
-        
-        // For each node, run DFS to find cycles
-        for (Task task : tasks) {
-            Long startNode = task.getId();
-            Map<Long, Boolean> visited = new HashMap<>();
-            Map<Long, Boolean> recursionStack = new HashMap<>();
-            List<Long> currentPath = new ArrayList<>();
-            
-            findCyclesDFS(startNode, graph, visited, recursionStack, currentPath, cycles);
-        }
-        
-        return cycles;
-    }
-    
-    /**
-     * Helper method for cycle detection using DFS
-     */
-    private void findCyclesDFS(Long currentNode, Map<Long, Set<Long>> graph, 
-                           Map<Long, Boolean> visited, Map<Long, Boolean> recursionStack,
-                           List<Long> currentPath, Set<List<Long>> cycles) {
-        
-        // Mark current node as visited and add to recursion stack
-        visited.put(currentNode, true);
-        recursionStack.put(currentNode, true);
-        currentPath.add(currentNode);
-        
-        // Visit all adjacent vertices
-        for (Long neighbor : graph.getOrDefault(currentNode, new HashSet<>())) {
-            // If not visited, make recursive call
-            if (!Boolean.TRUE.equals(visited.get(neighbor))) {
-                findCyclesDFS(neighbor, graph, visited, recursionStack, currentPath, cycles);
-            } 
-            // If already in recursion stack, we found a cycle
-            else if (Boolean.TRUE.equals(recursionStack.get(neighbor))) {
-                // Find the cycle in the current path
-                int cycleStart = currentPath.indexOf(neighbor);
-                if (cycleStart >= 0) {
-                    List<Long> cycle = new ArrayList<>(currentPath.subList(cycleStart, currentPath.size()));
-                    cycles.add(cycle);
-                }
-            }
-        }
-        
-        // Remove the current node from recursion stack and path
-        recursionStack.put(currentNode, false);
-        currentPath.remove(currentPath.size() - 1);
+        trace.summary("Total weight: " + totalWeight);
     }
 }
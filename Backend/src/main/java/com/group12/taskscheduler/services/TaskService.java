@@ -1,11 +1,16 @@
 package com.group12.taskscheduler.services;
 
 import com.group12.taskscheduler.models.Task;
+import com.group12.taskscheduler.models.TaskImportRow;
+import com.group12.taskscheduler.services.scheduling.SolverOptions;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TaskService {
     /**
@@ -16,12 +21,31 @@ public interface TaskService {
      */
     Task createTask(Task task);
 
+    /**
+     * Creates many tasks at once
+     * Every row is validated, with its dependencies on existing tasks and on other rows of
+     * the batch, before anything is written; the tasks are then inserted dependencies
+     * first, in chunks that each commit on their own
+     * @param rows The tasks to create
+     * @return The ids of the created tasks in row order, and the import's row count, chunk count and rate
+     * @throws IllegalArgumentException if any row is invalid, listing the first problems
+     */
+    Map<String, Object> importTasks(List<TaskImportRow> rows);
+
     /**
      * Retrieves all tasks in the system
      * @return List of all tasks
      */
     List<Task> getAllTasks();
 
+    /**
+     * Passes every task, with its dependencies, to a consumer as it is read from the database
+     * Tasks are read through a cursor in id order and released once consumed, so memory
+     * stays flat whatever the number of tasks
+     * @param consumer Receives each task in turn, inside a read-only transaction
+     */
+    void streamTasks(Consumer<Task> consumer);
+
     /**
      * Retrieves a specific task by ID
      * @param id The ID of the task to retrieve
@@ -61,6 +85,17 @@ public interface TaskService {
 
     // Search operations - consolidated into a single method with parameters
     List<Task> searchTasks(String name, Integer weight, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Searches tasks one page at a time, filtering and sorting in the database
+     * @param name Part of the name, case-insensitive (optional)
+     * @param weight Exact weight (optional)
+     * @param startDate Earliest due date, inclusive (optional)
+     * @param endDate Latest due date, inclusive (optional)
+     * @param pageable Page number, page size and sort order
+     * @return The page of matching tasks and the total number of matches
+     */
+    Page<Task> searchTasks(String name, Integer weight, LocalDate startDate, LocalDate endDate, Pageable pageable);
     
     // Core scheduling functionality
     /**
@@ -69,6 +104,33 @@ public interface TaskService {
      */
     Map<String, Object> generateSchedule();
 
+    /**
+     * Generates a schedule within a time and node budget
+     * @param options Budget for the search
+     * @return A map containing the scheduled tasks, the total weight achieved, the best proven
+     *         upper bound, the optimality gap and whether the schedule is proven optimal
+     */
+    Map<String, Object> generateSchedule(SolverOptions options);
+
+    /**
+     * Retrieves the schedule cache counters
+     * @return Hits, misses, hit rate, evictions, current size and limits
+     */
+    Map<String, Object> getScheduleCacheStatistics();
+
+    /**
+     * Retrieves the solver trace of the most recent scheduling runs
+     * @param runs Maximum number of runs to return
+     * @return One entry per run, newest first, with its messages and (at NODE level) search events
+     */
+    List<Map<String, Object>> getScheduleTrace(int runs);
+
+    /**
+     * Retrieves the registered scheduling strategies and their recorded solve times
+     * @return The strategy names a request can pin, and the measurements per strategy and class of instances
+     */
+    Map<String, Object> getSchedulingStrategies();
+
     /**
      * Retrieves a specific task by its name
      * @param name The name of the task to retrieve
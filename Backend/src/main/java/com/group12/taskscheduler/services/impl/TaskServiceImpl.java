@@ -1,15 +1,32 @@
 package com.group12.taskscheduler.services.impl;
 
 import com.group12.taskscheduler.models.Task;
+import com.group12.taskscheduler.models.TaskImportRow;
 import com.group12.taskscheduler.repositories.TaskRepository;
+import com.group12.taskscheduler.repositories.TaskSpecifications;
+import com.group12.taskscheduler.services.ScheduleCache;
 import com.group12.taskscheduler.services.TaskService;
 import com.group12.taskscheduler.services.SchedulerService;
+import com.group12.taskscheduler.services.scheduling.ScheduleResult;
+import com.group12.taskscheduler.services.scheduling.SolverOptions;
+import com.group12.taskscheduler.services.scheduling.SolverStatistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -17,16 +34,79 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final SchedulerService schedulerService;
 
+    // Generated schedules by task set fingerprint and solver parameters, cleared on every task change
+    private final ScheduleCache scheduleCache = new ScheduleCache(64, 5 * 60 * 1000);
+
+    // Tasks written per transaction by the bulk import
+    private int importChunkSize = 1000;
+
+    // Problems reported when an import is rejected
+    private static final int MAX_IMPORT_ERRORS = 20;
+
+    // Ids checked per existence query during an import
+    private static final int ID_LOOKUP_CHUNK = 1000;
+
+    // Runs each import chunk in its own transaction; null outside a Spring context
+    private TransactionTemplate transactionTemplate;
+
+    // Cleared after each import chunk so the imported tasks do not pile up in memory
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public TaskServiceImpl(TaskRepository taskRepository, SchedulerService schedulerService) {
         this.taskRepository = taskRepository;
         this.schedulerService = schedulerService;
     }
 
+    /**
+     * Sets the maximum number of cached schedules (0 disables the cache)
+     */
+    @Value("${scheduler.cache.max-entries:64}")
+    public void setScheduleCacheMaxEntries(int maxEntries) {
+        scheduleCache.setMaxEntries(maxEntries);
+    }
+
+    /**
+     * Sets how long a cached schedule may be served, in milliseconds (0 for no limit)
+     */
+    @Value("${scheduler.cache.max-age-ms:300000}")
+    public void setScheduleCacheMaxAgeMillis(long maxAgeMillis) {
+        scheduleCache.setMaxAgeMillis(maxAgeMillis);
+    }
+
+    /**
+     * Sets the number of tasks the bulk import writes per transaction
+     */
+    @Value("${tasks.import.chunk-size:1000}")
+    public void setImportChunkSize(int importChunkSize) {
+        this.importChunkSize = Math.max(1, importChunkSize);
+    }
+
+    @Autowired(required = false)
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+    }
+
     // region Basic CRUD Operations
     @Override
     public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+        // The scheduler and the task list read every task's dependencies
+        return taskRepository.findAllWithDependencies();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTasks(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllWithDependencies()) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                // Consumed: nothing keeps the task in the persistence context
+                if (entityManager != null) {
+                    entityManager.detach(task);
+                }
+            });
+        }
     }
 
     @Override
@@ -45,78 +125,214 @@ public class TaskServiceImpl implements TaskService {
                 ", Duration: " + task.getEstimatedDuration() + 
                 ", Dependencies: " + task.getDependenciesSet());
     
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        onTaskChanged(savedTask.getId());
+        return savedTask;
     }
 
     @Override
     public Task updateTask(Long id, Task task) {
         if (taskRepository.existsById(id)) {
             task.setId(id);
-            return taskRepository.save(task);
+            Task savedTask = taskRepository.save(task);
+            onTaskChanged(id);
+            return savedTask;
         }
         return null; // Task not found
     }
 
     @Override
+    @Transactional
     public void deleteTask(Long id) {
-        // First, find all tasks that depend on this task
-        List<Task> allTasks = getAllTasks();
-        List<Task> dependentTasks = allTasks.stream()
-            .filter(task -> task.getDependenciesSet() != null && task.getDependenciesSet().contains(id))
-            .collect(Collectors.toList());
-        
-        // Update all dependent tasks to remove this task from dependencies
-        for (Task dependentTask : dependentTasks) {
-            dependentTask.getDependenciesSet().remove(id);
-            
-            // Update the dependencies string
-            String updatedDependenciesStr = dependentTask.getDependenciesSet().stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
-            dependentTask.setDependenciesStr(updatedDependenciesStr);
-            
-            // Save the updated task
-            taskRepository.save(dependentTask);
+        // Find the tasks that depend on this task through the reverse index, and drop the
+        // task from their dependencies in bulk
+        List<Long> dependentIds = taskRepository.findDependentIds(id);
+        if (!dependentIds.isEmpty()) {
+            taskRepository.removeFromDependencyStrings(dependentIds, "," + id + ",");
+            taskRepository.deleteDependencyRows(id);
         }
         
         // Now delete the task
         taskRepository.deleteById(id);
+        onTaskChanged(id);
     }
-    // endregion
 
-    // region Search Operations
     @Override
-    public List<Task> searchTasks(String name, Integer weight, LocalDate startDate, LocalDate endDate) {
-        List<Task> result = new ArrayList<>(taskRepository.findAll());
+    public Map<String, Object> importTasks(List<TaskImportRow> rows) {
+        long start = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+
+        // Rows by ref, for dependencies within the batch
+        Map<String, Integer> rowByRef = new HashMap<>();
+        for (int r = 0; r < rows.size(); r++) {
+            TaskImportRow row = rows.get(r);
+            if (row.getRef() != null && rowByRef.putIfAbsent(row.getRef(), r) != null) {
+                errors.add("Row " + r + ": duplicate ref '" + row.getRef() + "'");
+            }
+        }
 
-        // Apply filters if provided
-        if (name != null && !name.isEmpty()) {
-            result = result.stream()
-                    .filter(task -> task.getName().toLowerCase().contains(name.toLowerCase()))
-                    .collect(Collectors.toList());
+        // Check every row and resolve its dependencies to rows of the batch or task ids
+        List<List<Integer>> rowDependencies = new ArrayList<>(rows.size());
+        List<Set<Long>> idDependencies = new ArrayList<>(rows.size());
+        Set<Long> referencedIds = new HashSet<>();
+        for (int r = 0; r < rows.size(); r++) {
+            TaskImportRow row = rows.get(r);
+            if (row.getName() == null || row.getName().isBlank()) {
+                errors.add("Row " + r + ": name is required");
+            }
+            if (row.getWeight() < 1 || row.getWeight() > 10) {
+                errors.add("Row " + r + ": weight must be between 1 and 10");
+            }
+            if (row.getDueDate() == null) {
+                errors.add("Row " + r + ": dueDate is required");
+            }
+            if (row.getEstimatedDuration() < 1) {
+                errors.add("Row " + r + ": estimatedDuration must be positive");
+            }
+            List<Integer> onRows = new ArrayList<>();
+            Set<Long> onIds = new HashSet<>();
+            for (String token : row.dependencyTokens()) {
+                Integer dependency = rowByRef.get(token);
+                if (dependency != null) {
+                    onRows.add(dependency);
+                    continue;
+                }
+                try {
+                    onIds.add(Long.parseLong(token));
+                } catch (NumberFormatException e) {
+                    errors.add("Row " + r + ": dependency '" + token + "' is neither a ref in the batch nor a task id");
+                }
+            }
+            referencedIds.addAll(onIds);
+            rowDependencies.add(onRows);
+            idDependencies.add(onIds);
+        }
+
+        // Existing tasks, looked up in chunks of ids rather than one by one
+        Set<Long> existingIds = new HashSet<>();
+        List<Long> lookup = new ArrayList<>(referencedIds);
+        for (int from = 0; from < lookup.size(); from += ID_LOOKUP_CHUNK) {
+            existingIds.addAll(taskRepository.findExistingIds(
+                lookup.subList(from, Math.min(lookup.size(), from + ID_LOOKUP_CHUNK))));
+        }
+        for (int r = 0; r < rows.size(); r++) {
+            for (Long id : idDependencies.get(r)) {
+                if (!existingIds.contains(id)) {
+                    errors.add("Row " + r + ": dependency " + id + " is not an existing task");
+                }
+            }
+        }
+
+        // Dependencies first (Kahn's algorithm); rows left over depend on each other in a cycle
+        int[] remaining = new int[rows.size()];
+        List<List<Integer>> dependents = new ArrayList<>(rows.size());
+        for (int r = 0; r < rows.size(); r++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int r = 0; r < rows.size(); r++) {
+            for (int dependency : rowDependencies.get(r)) {
+                dependents.get(dependency).add(r);
+                remaining[r]++;
+            }
+        }
+        int[] order = new int[rows.size()];
+        int ordered = 0;
+        for (int r = 0; r < rows.size(); r++) {
+            if (remaining[r] == 0) {
+                order[ordered++] = r;
+            }
+        }
+        for (int next = 0; next < ordered; next++) {
+            for (int dependent : dependents.get(order[next])) {
+                if (--remaining[dependent] == 0) {
+                    order[ordered++] = dependent;
+                }
+            }
+        }
+        if (ordered < rows.size()) {
+            List<Integer> cyclic = new ArrayList<>();
+            for (int r = 0; r < rows.size() && cyclic.size() < MAX_IMPORT_ERRORS; r++) {
+                if (remaining[r] > 0) {
+                    cyclic.add(r);
+                }
+            }
+            errors.add("Rows " + cyclic + (rows.size() - ordered > cyclic.size() ? " and more" : "") +
+                " depend on each other in a cycle");
         }
 
-        if (weight != null) {
-            result = result.stream()
-                    .filter(task -> task.getWeight() == weight)
-                    .collect(Collectors.toList());
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid import (" + errors.size() + " problems): " +
+                String.join("; ", errors.subList(0, Math.min(MAX_IMPORT_ERRORS, errors.size()))));
         }
 
-        if (startDate != null) {
-            result = result.stream()
-                    .filter(task -> task.getDueDate().isEqual(startDate) || task.getDueDate().isAfter(startDate))
-                    .collect(Collectors.toList());
+        // Insert dependencies first, so every row's dependencies have ids when it is written
+        Long[] ids = new Long[rows.size()];
+        int chunks = 0;
+        for (int from = 0; from < order.length; from += importChunkSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(order.length, from + importChunkSize);
+            Runnable chunk = () -> {
+                for (int k = chunkStart; k < chunkEnd; k++) {
+                    int r = order[k];
+                    TaskImportRow row = rows.get(r);
+                    Task task = new Task(row.getName(), row.getWeight(), row.getDueDate(), row.getEstimatedDuration());
+                    Set<Long> dependencies = new HashSet<>(idDependencies.get(r));
+                    for (int dependency : rowDependencies.get(r)) {
+                        dependencies.add(ids[dependency]);
+                    }
+                    task.setDependenciesSet(dependencies);
+                    task.setDependenciesStr(dependencies.stream().sorted().map(String::valueOf)
+                        .collect(Collectors.joining(",")));
+                    ids[r] = taskRepository.save(task).getId();
+                }
+                taskRepository.flush();
+            };
+            if (transactionTemplate != null) {
+                transactionTemplate.executeWithoutResult(status -> chunk.run());
+            } else {
+                chunk.run();
+            }
+            if (entityManager != null) {
+                entityManager.clear();
+            }
+            chunks++;
         }
 
-        if (endDate != null) {
-            result = result.stream()
-                    .filter(task -> task.getDueDate().isEqual(endDate) || task.getDueDate().isBefore(endDate))
-                    .collect(Collectors.toList());
+        scheduleCache.invalidateAll();
+        for (Long id : ids) {
+            schedulerService.onTaskChanged(id);
         }
 
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("imported", rows.size());
+        result.put("ids", Arrays.asList(ids));
+        result.put("chunks", chunks);
+        result.put("millis", Math.round(seconds * 1000));
+        result.put("rowsPerSecond", seconds > 0 ? Math.round(rows.size() / seconds) : rows.size());
         return result;
     }
 
+    // Cached schedules are stale and the next solve can start from the previous schedule
+    private void onTaskChanged(Long id) {
+        scheduleCache.invalidateAll();
+        schedulerService.onTaskChanged(id);
+    }
+    // endregion
+
+    // region Search Operations
+    @Override
+    public List<Task> searchTasks(String name, Integer weight, LocalDate startDate, LocalDate endDate) {
+        // Filters are applied by the database, on indexed columns
+        return taskRepository.findAll(TaskSpecifications.matching(name, weight, startDate, endDate), Sort.by("id"));
+    }
+
+    @Override
+    public Page<Task> searchTasks(String name, Integer weight, LocalDate startDate, LocalDate endDate,
+                                  Pageable pageable) {
+        return taskRepository.findAll(TaskSpecifications.matching(name, weight, startDate, endDate), pageable);
+    }
+
     @Override
     public Optional<Task> getTaskByName(String name) {
         List<Task> tasks = taskRepository.findByNameContainingIgnoreCase(name);
@@ -131,6 +347,11 @@ public class TaskServiceImpl implements TaskService {
     // region Schedule Generation
     @Override
     public Map<String, Object> generateSchedule() {
+        return generateSchedule(new SolverOptions());
+    }
+
+    @Override
+    public Map<String, Object> generateSchedule(SolverOptions options) {
         try {
             List<Task> allTasks = getAllTasks();
             System.out.println("Found " + allTasks.size() + " tasks in the database");
@@ -141,12 +362,25 @@ public class TaskServiceImpl implements TaskService {
                 Map<String, Object> result = new HashMap<>();
                 result.put("schedule", new ArrayList<>());
                 result.put("totalWeight", 0);
+                result.put("upperBound", 0);
+                result.put("optimalityGap", 0.0);
+                result.put("optimal", true);
+                result.put("statistics", SolverStatistics.empty().toMap());
                 return result;
             }
             
+            // Serve the schedule from the cache if neither the tasks nor the parameters changed
+            String cacheKey = buildScheduleCacheKey(allTasks, options);
+            Map<String, Object> cached = scheduleCache.get(cacheKey);
+            if (cached != null) {
+                System.out.println("Serving schedule from cache");
+                return cached;
+            }
+            
             // Use SchedulerService to generate schedule
-            System.out.println("Using SchedulerService to generate schedule");
-            List<Task> scheduledTasks = schedulerService.scheduleTasks(allTasks);
+            System.out.println("Using SchedulerService to generate schedule with " + options);
+            ScheduleResult scheduleResult = schedulerService.scheduleTasks(allTasks, options);
+            List<Task> scheduledTasks = scheduleResult.getSchedule();
             System.out.println("SchedulerService returned " + scheduledTasks.size() + " tasks");
             
             // Extract task IDs and calculate total weight
@@ -159,11 +393,18 @@ public class TaskServiceImpl implements TaskService {
             System.out.println("Total weight: " + totalWeight);
             
             // Create and return the result
-        Map<String, Object> result = new HashMap<>();
+            Map<String, Object> result = new HashMap<>();
             result.put("schedule", scheduledTaskIds);
-        result.put("totalWeight", totalWeight);
+            result.put("totalWeight", totalWeight);
+            result.put("upperBound", scheduleResult.getUpperBound());
+            result.put("optimalityGap", scheduleResult.getGap());
+            result.put("optimal", scheduleResult.isOptimal());
+            result.put("engine", scheduleResult.getEngine());
+            result.put("nodes", scheduleResult.getNodeCount());
+            result.put("statistics", scheduleResult.getStatistics().toMap());
 
-        return result;
+            scheduleCache.put(cacheKey, result);
+            return result;
         } catch (Exception e) {
             System.err.println("Error in generateSchedule: " + e.getMessage());
             e.printStackTrace();
@@ -171,6 +412,41 @@ public class TaskServiceImpl implements TaskService {
         }
     }
 
+    @Override
+    public Map<String, Object> getScheduleCacheStatistics() {
+        return scheduleCache.getStatistics();
+    }
+
+    // Fingerprint of the task set plus every parameter the schedule depends on
+    private String buildScheduleCacheKey(List<Task> tasks, SolverOptions options) {
+        long fingerprint = tasks.size();
+        for (Task task : tasks) {
+            fingerprint = fingerprint * 1_000_003L + task.schedulingFingerprint();
+        }
+        LocalDate referenceDate = options.getReferenceDate() != null ? options.getReferenceDate() : LocalDate.now();
+        return Long.toHexString(fingerprint) +
+            "|" + schedulerService.getConfigurationKey() +
+            "|referenceDate=" + referenceDate +
+            "|timeLimitMs=" + options.getTimeLimitMillis() +
+            "|nodeLimit=" + options.getNodeLimit() +
+            "|warmStart=" + options.isWarmStart() +
+            "|strategy=" + options.getStrategy() +
+            "|seed=" + options.getSeed();
+    }
+
+    @Override
+    public List<Map<String, Object>> getScheduleTrace(int runs) {
+        return schedulerService.getTrace().dump(runs);
+    }
+
+    @Override
+    public Map<String, Object> getSchedulingStrategies() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("strategies", schedulerService.getStrategyNames());
+        result.put("measurements", schedulerService.getStrategyStatistics());
+        return result;
+    }
+
     @Override
     public int calculateTotalWeight(List<Long> taskIds, List<Task> allTasks) {
         // Create a map for faster lookups
@@ -0,0 +1,390 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Beam search for quick, good-enough schedules.
+ *
+ * The partial schedules are extended level by level, one task per level, with the same
+ * checks as backtracking (dependencies done, not blocked, deadline met), and only with
+ * tasks later in due order (deadline pulled earlier by the dependents, as in greedy) than
+ * the last one. Of all the extensions only the best K distinct partial schedules are
+ * kept, ranked by their weight plus an optimistic bound: the least of the open tasks that
+ * can still start in time, the open tasks later in due order, and a fractional knapsack
+ * of the open tasks up to the latest deadline. The bounds come from presorted orders, so
+ * a level costs O(K * (n log n + e)) time and O(K * n) memory whatever the size of the
+ * graph. The parents of a level are expanded in parallel on the search pool when there
+ * is one. Every partial schedule is feasible; the heaviest one seen is the result.
+ */
+public class BeamSearchStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "beam";
+
+    private volatile int width;
+
+    /**
+     * @param width Partial schedules kept per level
+     */
+    public BeamSearchStrategy(int width) {
+        setWidth(width);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = Math.max(1, width);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return true;
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        new Search(problem, width).run();
+    }
+
+    /**
+     * Task order of a partial schedule, shared with the schedules it was extended from;
+     * kept apart from the states so that only the current level's task sets stay in memory
+     */
+    private static final class Trail {
+        final Trail previous;
+        final int task;
+
+        Trail(Trail previous, int task) {
+            this.previous = previous;
+            this.task = task;
+        }
+    }
+
+    /**
+     * One partial schedule in the beam
+     */
+    private static final class State {
+        final Trail trail;
+        final BitSet scheduled;
+        final int time;
+        final int weight;
+        final long hash;
+
+        State(Trail trail, BitSet scheduled, int time, int weight, long hash) {
+            this.trail = trail;
+            this.scheduled = scheduled;
+            this.time = time;
+            this.weight = weight;
+            this.hash = hash;
+        }
+
+        int[] sequence(int depth) {
+            int[] sequence = new int[depth];
+            Trail trail = this.trail;
+            for (int d = depth - 1; d >= 0; d--) {
+                sequence[d] = trail.task;
+                trail = trail.previous;
+            }
+            return sequence;
+        }
+    }
+
+    /**
+     * An extension of a parent state, before it is chosen for the next level
+     */
+    private static final class Extension {
+        final State parent;
+        final int task;
+        final long score;
+
+        Extension(State parent, int task, long score) {
+            this.parent = parent;
+            this.task = task;
+            this.score = score;
+        }
+    }
+
+    private static final class Search {
+        final CompiledTaskGraph graph;
+        final SharedIncumbent<int[]> incumbent;
+        final SearchBudget budget;
+        final SolverTrace.Run trace;
+        final ForkJoinPool pool;
+        final SolverStatistics statistics;
+        final int width;
+
+        // Tasks by latest start (deadline minus duration), and those latest starts
+        final int[] byLatestStart;
+        final long[] latestStart;
+
+        // Tasks by weight per day (best first) and the latest deadline of all
+        final int[] byRatio;
+        final long latestDeadline;
+
+        // Position of each task in order of due date pulled earlier by its dependents (ties topological)
+        final int[] dueOrder;
+        final int[] dueRank;
+
+        // Random key per task; a partial schedule's hash identifies its set of tasks
+        final long[] taskKeys;
+
+        Search(SchedulingProblem problem, int width) {
+            this.graph = problem.getGraph();
+            this.incumbent = problem.getIncumbent();
+            this.budget = problem.getBudget();
+            this.trace = problem.getTrace();
+            this.pool = problem.getPool();
+            this.statistics = problem.getStatistics();
+            this.width = width;
+            this.byLatestStart = graph.sortedIndices((a, b) -> Long.compare(
+                (long) graph.deadlines[a] - graph.durations[a], (long) graph.deadlines[b] - graph.durations[b]));
+            this.latestStart = new long[graph.n];
+            for (int i = 0; i < graph.n; i++) {
+                latestStart[i] = (long) graph.deadlines[byLatestStart[i]] - graph.durations[byLatestStart[i]];
+            }
+            this.byRatio = graph.sortedIndices((a, b) -> Long.compare(
+                (long) graph.weights[b] * graph.durations[a], (long) graph.weights[a] * graph.durations[b]));
+            long latest = 0;
+            for (int deadline : graph.deadlines) {
+                latest = Math.max(latest, deadline);
+            }
+            this.latestDeadline = latest;
+            int[] topological = graph.topologicalOrder();
+            int[] topologicalRank = new int[graph.n];
+            long[] dueBy = new long[graph.n];
+            for (int i = 0; i < graph.n; i++) {
+                dueBy[i] = graph.deadlines[i];
+            }
+            for (int position = topological.length - 1; position >= 0; position--) {
+                int task = topological[position];
+                topologicalRank[task] = position;
+                for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+                    int dependent = graph.succ[e];
+                    dueBy[task] = Math.min(dueBy[task], dueBy[dependent] - graph.durations[dependent]);
+                }
+            }
+            this.dueOrder = graph.sortedIndices((a, b) -> dueBy[a] != dueBy[b] ? Long.compare(dueBy[a], dueBy[b])
+                : Integer.compare(topologicalRank[a], topologicalRank[b]));
+            this.dueRank = new int[graph.n];
+            for (int position = 0; position < graph.n; position++) {
+                dueRank[dueOrder[position]] = position;
+            }
+            Random random = new Random(problem.getSeed());
+            this.taskKeys = new long[graph.n];
+            for (int i = 0; i < graph.n; i++) {
+                taskKeys[i] = random.nextLong();
+            }
+        }
+
+        void run() {
+            List<State> beam = List.of(new State(null, new BitSet(graph.n), 0, 0, 0L));
+            State best = beam.get(0);
+            int bestDepth = 0;
+            int depth = 0;
+            while (!beam.isEmpty()) {
+                List<State> parents = beam;
+                List<List<Extension>> extensions;
+                if (pool != null && parents.size() > 1) {
+                    extensions = pool.submit(() -> IntStream.range(0, parents.size()).parallel()
+                        .mapToObj(p -> expand(parents.get(p))).toList()).join();
+                } else {
+                    extensions = parents.stream().map(this::expand).toList();
+                }
+                if (budget.isExhausted()) {
+                    break;
+                }
+                beam = select(extensions);
+                depth++;
+                for (State state : beam) {
+                    if (state.weight > best.weight) {
+                        best = state;
+                        bestDepth = depth;
+                    }
+                }
+            }
+
+            statistics.reachedDepth(depth);
+            if (best.weight > incumbent.getBestWeight()) {
+                incumbent.offer(best.weight, best.sequence(bestDepth));
+            }
+            trace.summary("Beam search of width " + width + " reached depth " + depth + ", best weight " +
+                best.weight + (budget.isExhausted() ? " (budget ran out)" : ""));
+        }
+
+        /**
+         * Every feasible one-task extension of a state, keeping the best `width` of them
+         */
+        List<Extension> expand(State state) {
+            if (!budget.consumeNode()) {
+                return List.of();
+            }
+
+            // Weight of the unscheduled tasks from each position of the latest-start order on
+            int n = graph.n;
+            long[] remainingWeight = new long[n + 1];
+            for (int i = n - 1; i >= 0; i--) {
+                int task = byLatestStart[i];
+                boolean open = !state.scheduled.get(task) && !graph.blocked[task];
+                remainingWeight[i] = remainingWeight[i + 1] + (open ? graph.weights[task] : 0);
+            }
+
+            // Weight of the unscheduled tasks from each position of the due order on; those before
+            // the last task are skipped for good
+            long[] laterWeight = new long[n + 1];
+            for (int position = n - 1; position >= 0; position--) {
+                int task = dueOrder[position];
+                boolean open = !state.scheduled.get(task) && !graph.blocked[task];
+                laterWeight[position] = laterWeight[position + 1] + (open ? graph.weights[task] : 0);
+            }
+
+            // The unscheduled tasks by weight per day, with running totals, for the knapsack relaxation
+            int[] open = new int[n];
+            long[] packedDuration = new long[n + 1];
+            long[] packedWeight = new long[n + 1];
+            int openCount = 0;
+            for (int task : byRatio) {
+                if (!state.scheduled.get(task) && !graph.blocked[task]) {
+                    open[openCount] = task;
+                    packedDuration[openCount + 1] = packedDuration[openCount] + graph.durations[task];
+                    packedWeight[openCount + 1] = packedWeight[openCount] + graph.weights[task];
+                    openCount++;
+                }
+            }
+
+            List<Extension> extensions = new ArrayList<>();
+            long deadlinePrunes = 0;
+            long dependencyPrunes = 0;
+            // Schedules are built in due order, which keeps every beam slot on a distinct task set;
+            // it only gives up sets whose order depends on dropping a task's dependents
+            int lastRank = state.trail == null ? -1 : dueRank[state.trail.task];
+            for (int position = lastRank + 1; position < n; position++) {
+                int task = dueOrder[position];
+                if (state.scheduled.get(task) || graph.blocked[task]) {
+                    continue;
+                }
+                int endTime = state.time + graph.durations[task];
+                if (endTime > graph.deadlines[task]) {
+                    deadlinePrunes++;
+                    continue;
+                }
+                if (!dependenciesDone(state.scheduled, task)) {
+                    dependencyPrunes++;
+                    continue;
+                }
+                // Optimistic: every other open task that can still start in time gets scheduled,
+                // and no more than fits (fractionally) before the latest deadline
+                int from = firstStartingFrom(endTime);
+                long optimistic = remainingWeight[from];
+                if ((long) graph.deadlines[task] - graph.durations[task] >= endTime) {
+                    optimistic -= graph.weights[task];
+                }
+                optimistic = Math.min(optimistic, laterWeight[dueRank[task] + 1]);
+                optimistic = Math.min(optimistic,
+                    knapsack(open, openCount, packedDuration, packedWeight, latestDeadline - endTime));
+                extensions.add(new Extension(state, task, state.weight + graph.weights[task] + optimistic));
+            }
+            statistics.addPrunes(SolverStatistics.PruneReason.DEADLINE, deadlinePrunes);
+            statistics.addPrunes(SolverStatistics.PruneReason.DEPENDENCY, dependencyPrunes);
+            if (extensions.size() > width) {
+                extensions.sort((a, b) -> Long.compare(b.score, a.score));
+                return new ArrayList<>(extensions.subList(0, width));
+            }
+            return extensions;
+        }
+
+        /**
+         * The best `width` extensions over all parents, one per set of scheduled tasks
+         */
+        List<State> select(List<List<Extension>> extensions) {
+            List<Extension> all = new ArrayList<>();
+            extensions.forEach(all::addAll);
+            all.sort((a, b) -> Long.compare(b.score, a.score));
+            Set<Long> seen = new HashSet<>();
+            List<State> next = new ArrayList<>(Math.min(width, all.size()));
+            for (Extension extension : all) {
+                if (next.size() == width) {
+                    break;
+                }
+                State parent = extension.parent;
+                long hash = parent.hash ^ taskKeys[extension.task];
+                if (!seen.add(hash)) {
+                    continue;
+                }
+                BitSet scheduled = (BitSet) parent.scheduled.clone();
+                scheduled.set(extension.task);
+                next.add(new State(new Trail(parent.trail, extension.task), scheduled,
+                    parent.time + graph.durations[extension.task],
+                    parent.weight + graph.weights[extension.task], hash));
+            }
+            return next;
+        }
+
+        /**
+         * Fractional knapsack of the open tasks, best weight per day first, into a capacity
+         */
+        private long knapsack(int[] open, int openCount, long[] packedDuration, long[] packedWeight, long capacity) {
+            if (capacity <= 0) {
+                return 0;
+            }
+            // Most tasks of the prefix that fit whole
+            int lo = 0;
+            int hi = openCount;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (packedDuration[mid] <= capacity) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            long value = packedWeight[lo];
+            if (lo < openCount) {
+                int next = open[lo];
+                value += (capacity - packedDuration[lo]) * graph.weights[next] / Math.max(1, graph.durations[next]);
+            }
+            return value;
+        }
+
+        private boolean dependenciesDone(BitSet scheduled, int task) {
+            for (int e = graph.predStart[task]; e < graph.predStart[task + 1]; e++) {
+                if (!scheduled.get(graph.pred[e])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // First position in the latest-start order whose task can still start at the given time
+        private int firstStartingFrom(int time) {
+            int lo = 0;
+            int hi = latestStart.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (latestStart[mid] < time) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Depth-first branch and bound over task orderings, running on a compiled task graph.
+ *
+ * Each worker keeps its search state in primitive form: a BitSet of scheduled tasks, a
+ * counter of unscheduled dependencies per task that is updated incrementally along the
+ * successor lists, and the current path. Expanding a node allocates nothing; the only
+ * allocation in the hot path is the copy of the path when a better schedule is found.
+ * Prunes are counted in the worker and added to the run's statistics when it is done.
+ * In parallel mode the top levels of the tree are split into fork-join subtasks.
+ *
+ * Different orders of the same tasks reach the same state (same time, same weight), so
+ * with a transposition table every finished subtree is recorded under the Zobrist hash
+ * of its scheduled set, with a bound on the weight it can add: the node's upper bound
+ * when it was pruned, or what the best schedule left room for once the subtree was
+ * searched, since nothing better was found in it. A later arrival at the same set is
+ * pruned when that bound cannot beat the best schedule. Subtrees cut short by the budget
+ * are not recorded.
+ */
+public class BranchAndBoundSolver {
+
+    // Depth of the search tree down to which the parallel search forks one subtask per branch
+    private static final int PARALLEL_SPLIT_DEPTH = 2;
+
+    private final CompiledTaskGraph graph;
+    private final ScheduleUpperBound upperBound;
+    private final SharedIncumbent<int[]> incumbent;
+    private final SearchBudget budget;
+    private final SolverTrace.Run trace;
+    private final boolean traceNodes;
+    private final SolverStatistics statistics;
+    private final TranspositionTable.Run table;
+    private final long[] taskKeys;
+
+    /**
+     * @param graph The compiled candidate tasks
+     * @param incumbent Best schedule so far (task indices), shared by all workers
+     * @param budget Time and node budget of the run
+     * @param trace Trace of the run; node events are only recorded at NODE level
+     * @param statistics Counters of the run
+     * @param table Transposition table of the run, null to search without one
+     */
+    public BranchAndBoundSolver(CompiledTaskGraph graph, SharedIncumbent<int[]> incumbent, SearchBudget budget,
+                                SolverTrace.Run trace, SolverStatistics statistics, TranspositionTable.Run table) {
+        this.graph = graph;
+        this.upperBound = new ScheduleUpperBound(graph);
+        this.incumbent = incumbent;
+        this.budget = budget;
+        this.trace = trace;
+        this.traceNodes = trace.isNodeLevel();
+        this.statistics = statistics;
+        this.table = table;
+        this.taskKeys = table != null ? table.taskKeys() : new long[graph.n];
+    }
+
+    /**
+     * Runs the search on the calling thread
+     */
+    public void solve() {
+        Worker worker = new Worker(false);
+        worker.search(0, 0, 0);
+        worker.flushStatistics();
+    }
+
+    /**
+     * Runs the search on a fork-join pool, splitting the top of the tree into subtasks
+     */
+    public void solveParallel(ForkJoinPool pool) {
+        pool.invoke(new BranchTask(new Worker(true), 0, 0, 0));
+    }
+
+    /**
+     * Subtree of the search run as a fork-join subtask with its own worker state
+     */
+    private final class BranchTask extends RecursiveAction {
+        private final Worker worker;
+        private final int depth;
+        private final int currentTime;
+        private final int currentWeight;
+
+        BranchTask(Worker worker, int depth, int currentTime, int currentWeight) {
+            this.worker = worker;
+            this.depth = depth;
+            this.currentTime = currentTime;
+            this.currentWeight = currentWeight;
+        }
+
+        @Override
+        protected void compute() {
+            worker.search(depth, currentTime, currentWeight);
+            worker.flushStatistics();
+        }
+    }
+
+    /**
+     * Mutable search state of one thread
+     */
+    private final class Worker {
+        private final boolean parallel;
+        private final BitSet scheduled;
+        private final int[] remainingDependencies;
+        private final int[] path;
+        private final ScheduleUpperBound.Scratch scratch;
+        // Zobrist hash of the scheduled set
+        private long hash;
+
+        // Counted here, added to the run's statistics when the worker is done
+        private long boundPrunes;
+        private long deadlinePrunes;
+        private long dependencyPrunes;
+        private int maxDepth;
+        private long tableLookups;
+        private long tableHits;
+
+        Worker(boolean parallel) {
+            this.parallel = parallel;
+            this.scheduled = new BitSet(graph.n);
+            this.remainingDependencies = graph.inDegree.clone();
+            this.path = new int[graph.n];
+            this.scratch = new ScheduleUpperBound.Scratch(graph.n);
+            this.hash = table != null ? table.emptyHash() : 0L;
+        }
+
+        // Copy of another worker's state, handed to a forked subtask
+        Worker(Worker other) {
+            this.parallel = other.parallel;
+            this.scheduled = (BitSet) other.scheduled.clone();
+            this.remainingDependencies = other.remainingDependencies.clone();
+            this.path = other.path.clone();
+            this.scratch = new ScheduleUpperBound.Scratch(graph.n);
+            this.hash = other.hash;
+        }
+
+        void search(int depth, int currentTime, int currentWeight) {
+            // Count this node against the budget
+            boolean withinBudget = budget.consumeNode();
+            if (depth > maxDepth) {
+                maxDepth = depth;
+            }
+
+            // Record the partial schedule if it beats the best one so far
+            if (currentWeight > incumbent.getBestWeight()
+                    && incumbent.offer(currentWeight, Arrays.copyOf(path, depth)) && traceNodes) {
+                trace.node(SolverTrace.NodeEvent.INCUMBENT, depth, currentTime, currentWeight, currentWeight);
+            }
+
+            // Same set of tasks as a subtree already searched, which left no room to improve
+            int bestWeight = incumbent.getBestWeight();
+            if (table != null) {
+                tableLookups++;
+                int remaining = table.probe(hash);
+                if (remaining != TranspositionTable.NO_ENTRY && currentWeight + remaining <= bestWeight) {
+                    tableHits++;
+                    if (traceNodes) {
+                        trace.node(SolverTrace.NodeEvent.PRUNED, depth, currentTime, currentWeight,
+                            currentWeight + remaining);
+                    }
+                    return;
+                }
+            }
+
+            // Branch and bound: prune if no completion can beat the best solution of any worker
+            int nodeBound = currentWeight + upperBound.bound(currentTime, scheduled, scratch, bestWeight - currentWeight);
+            if (nodeBound <= bestWeight) {
+                boundPrunes++;
+                if (table != null) {
+                    table.store(hash, depth, nodeBound - currentWeight);
+                }
+                if (traceNodes) {
+                    trace.node(SolverTrace.NodeEvent.PRUNED, depth, currentTime, currentWeight, nodeBound);
+                }
+                return;
+            }
+
+            // Out of budget: leave the subtree unexplored but remember its bound
+            if (!withinBudget) {
+                budget.recordUnexplored(nodeBound);
+                if (traceNodes) {
+                    trace.node(SolverTrace.NodeEvent.BUDGET, depth, currentTime, currentWeight, nodeBound);
+                }
+                return;
+            }
+
+            if (traceNodes) {
+                trace.node(SolverTrace.NodeEvent.EXPANDED, depth, currentTime, currentWeight, nodeBound);
+            }
+
+            // Near the root of a parallel search, hand each branch to its own subtask
+            List<BranchTask> subtasks = parallel && depth < PARALLEL_SPLIT_DEPTH ? new ArrayList<>() : null;
+
+            int[] durations = graph.durations;
+            int[] deadlines = graph.deadlines;
+            int[] weights = graph.weights;
+            boolean[] blocked = graph.blocked;
+
+            // Try each available task, heaviest first to tighten the bound early
+            for (int task : graph.weightOrder) {
+                if (scheduled.get(task)) {
+                    continue;
+                }
+                if (remainingDependencies[task] != 0 || blocked[task]) {
+                    dependencyPrunes++;
+                    continue;
+                }
+                int endTime = currentTime + durations[task];
+                if (endTime > deadlines[task]) {
+                    deadlinePrunes++;
+                    continue;
+                }
+
+                apply(task, depth);
+                if (subtasks != null) {
+                    subtasks.add(new BranchTask(new Worker(this), depth + 1, endTime, currentWeight + weights[task]));
+                } else {
+                    search(depth + 1, endTime, currentWeight + weights[task]);
+                }
+                undo(task);
+
+                // Budget ran out below: the remaining branches are covered by this node's bound
+                if (budget.isExhausted()) {
+                    budget.recordUnexplored(nodeBound);
+                    break;
+                }
+            }
+
+            // Run the forked branches and wait for all of them
+            if (subtasks != null) {
+                ForkJoinTask.invokeAll(subtasks);
+            }
+
+            // Searched in full: no completion beats the best schedule, which has only grown since
+            if (table != null && !budget.isExhausted()) {
+                table.store(hash, depth, incumbent.getBestWeight() - currentWeight);
+            }
+        }
+
+        void flushStatistics() {
+            statistics.addPrunes(SolverStatistics.PruneReason.BOUND, boundPrunes);
+            statistics.addPrunes(SolverStatistics.PruneReason.DEADLINE, deadlinePrunes);
+            statistics.addPrunes(SolverStatistics.PruneReason.DEPENDENCY, dependencyPrunes);
+            statistics.reachedDepth(maxDepth);
+            statistics.addTableLookups(tableLookups, tableHits);
+            boundPrunes = deadlinePrunes = dependencyPrunes = tableLookups = tableHits = 0;
+        }
+
+        private void apply(int task, int depth) {
+            scheduled.set(task);
+            path[depth] = task;
+            hash ^= taskKeys[task];
+            for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+                remainingDependencies[graph.succ[e]]--;
+            }
+        }
+
+        private void undo(int task) {
+            scheduled.clear(task);
+            hash ^= taskKeys[task];
+            for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+                remainingDependencies[graph.succ[e]]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.group12.taskscheduler.services.scheduling;
+
+/**
+ * Exact backtracking over task orderings with branch and bound, sequential or on the
+ * search pool, with an optional transposition table; runs on instances of any size
+ */
+public class BranchAndBoundStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "backtracking";
+
+    private volatile TranspositionTable transpositionTable;
+
+    /**
+     * Gets the table that memoizes searched sets of tasks, null if there is none
+     */
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    public void setTranspositionTable(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return true;
+    }
+
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        TranspositionTable table = transpositionTable;
+        BranchAndBoundSolver solver = new BranchAndBoundSolver(problem.getGraph(), problem.getIncumbent(),
+            problem.getBudget(), problem.getTrace(), problem.getStatistics(),
+            table != null ? table.startRun(problem.getGraph().n) : null);
+        if (problem.getPool() != null) {
+            problem.getTrace().summary("Running parallel backtracking with parallelism " +
+                problem.getPool().getParallelism());
+            solver.solveParallel(problem.getPool());
+        } else {
+            solver.solve();
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import com.group12.taskscheduler.models.Task;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Dense, int-indexed form of a task list used by the scheduling engines.
+ *
+ * Tasks are numbered 0..n-1 in input order. Durations, flexible deadlines and weights
+ * are plain int arrays, and dependencies are stored in compressed sparse row (CSR) form
+ * in both directions: the successors of task i are succ[succStart[i] .. succStart[i+1]).
+ * Engines run on these arrays so that the search loop never touches a Task object,
+ * a boxed id or a hash map.
+ */
+public final class CompiledTaskGraph {
+
+    final int n;
+    final Task[] tasks;
+    final int[] durations;
+    final int[] deadlines;
+    final int[] weights;
+
+    // CSR adjacency: dependency -> dependent
+    final int[] succStart;
+    final int[] succ;
+
+    // CSR adjacency: dependent -> dependency
+    final int[] predStart;
+    final int[] pred;
+
+    // Number of in-set dependencies of each task
+    final int[] inDegree;
+
+    // Tasks mixing in-set and unknown dependencies, which can never become available
+    final boolean[] blocked;
+
+    // Task indices sorted by weight (descending), the branching order of the search
+    final int[] weightOrder;
+
+    private final Map<Long, Integer> indexById;
+
+    private CompiledTaskGraph(List<Task> taskList, SchedulingContext context) {
+        this.n = taskList.size();
+        this.tasks = taskList.toArray(new Task[0]);
+        this.durations = new int[n];
+        this.deadlines = new int[n];
+        this.weights = new int[n];
+        this.inDegree = new int[n];
+        this.blocked = new boolean[n];
+        this.indexById = new HashMap<>(n * 2);
+
+        for (int i = 0; i < n; i++) {
+            indexById.put(tasks[i].getId(), i);
+        }
+
+        // First pass: sizes and scalar attributes
+        int edgeCount = 0;
+        int[] outDegree = new int[n];
+        for (int i = 0; i < n; i++) {
+            Task task = tasks[i];
+            durations[i] = context.getDuration(task);
+            deadlines[i] = context.getFlexibleDeadline(task);
+            weights[i] = task.getWeight();
+
+            boolean hasExternal = false;
+            for (Long depId : task.getDependenciesSet()) {
+                Integer dep = indexById.get(depId);
+                if (dep == null) {
+                    hasExternal = true;
+                } else {
+                    inDegree[i]++;
+                    outDegree[dep]++;
+                    edgeCount++;
+                }
+            }
+            // Same rule as the original backtracking: unknown dependencies are ignored only
+            // when the task has no dependency inside the set, otherwise they never get satisfied
+            blocked[i] = hasExternal && inDegree[i] > 0;
+        }
+
+        // Second pass: fill the CSR arrays
+        this.succStart = new int[n + 1];
+        this.predStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            succStart[i + 1] = succStart[i] + outDegree[i];
+            predStart[i + 1] = predStart[i] + inDegree[i];
+        }
+        this.succ = new int[edgeCount];
+        this.pred = new int[edgeCount];
+        int[] succFill = Arrays.copyOf(succStart, n);
+        int[] predFill = Arrays.copyOf(predStart, n);
+        for (int i = 0; i < n; i++) {
+            for (Long depId : tasks[i].getDependenciesSet()) {
+                Integer dep = indexById.get(depId);
+                if (dep != null) {
+                    succ[succFill[dep]++] = i;
+                    pred[predFill[i]++] = dep;
+                }
+            }
+        }
+
+        this.weightOrder = sortedIndices((a, b) -> Integer.compare(weights[b], weights[a]));
+    }
+
+    private CompiledTaskGraph(CompiledTaskGraph source, boolean[] keepTask, boolean[] keepEdge,
+                              int[] extraDependency, int[] extraDependent) {
+        int[] newIndex = new int[source.n];
+        int count = 0;
+        for (int i = 0; i < source.n; i++) {
+            newIndex[i] = keepTask[i] ? count++ : -1;
+        }
+        this.n = count;
+        this.tasks = new Task[n];
+        this.durations = new int[n];
+        this.deadlines = new int[n];
+        this.weights = new int[n];
+        this.inDegree = new int[n];
+        this.blocked = new boolean[n];
+        this.indexById = new HashMap<>(n * 2);
+
+        int edgeCount = 0;
+        int[] outDegree = new int[n];
+        for (int i = 0; i < source.n; i++) {
+            int k = newIndex[i];
+            if (k < 0) {
+                continue;
+            }
+            tasks[k] = source.tasks[i];
+            durations[k] = source.durations[i];
+            deadlines[k] = source.deadlines[i];
+            weights[k] = source.weights[i];
+            blocked[k] = source.blocked[i];
+            indexById.put(tasks[k].getId(), k);
+        }
+        for (int i = 0; i < source.n; i++) {
+            for (int e = source.succStart[i]; e < source.succStart[i + 1]; e++) {
+                int dependent = newIndex[source.succ[e]];
+                if (dependent < 0) {
+                    continue;
+                }
+                if (newIndex[i] < 0) {
+                    // A dependency that is gone can never be satisfied
+                    blocked[dependent] = true;
+                } else if (keepEdge[e]) {
+                    outDegree[newIndex[i]]++;
+                    inDegree[dependent]++;
+                    edgeCount++;
+                }
+            }
+        }
+        for (int x = 0; x < extraDependency.length; x++) {
+            outDegree[newIndex[extraDependency[x]]]++;
+            inDegree[newIndex[extraDependent[x]]]++;
+            edgeCount++;
+        }
+
+        this.succStart = new int[n + 1];
+        this.predStart = new int[n + 1];
+        for (int k = 0; k < n; k++) {
+            succStart[k + 1] = succStart[k] + outDegree[k];
+            predStart[k + 1] = predStart[k] + inDegree[k];
+        }
+        this.succ = new int[edgeCount];
+        this.pred = new int[edgeCount];
+        int[] succFill = Arrays.copyOf(succStart, n);
+        int[] predFill = Arrays.copyOf(predStart, n);
+        for (int i = 0; i < source.n; i++) {
+            int k = newIndex[i];
+            if (k < 0) {
+                continue;
+            }
+            for (int e = source.succStart[i]; e < source.succStart[i + 1]; e++) {
+                int dependent = newIndex[source.succ[e]];
+                if (dependent >= 0 && keepEdge[e]) {
+                    succ[succFill[k]++] = dependent;
+                    pred[predFill[dependent]++] = k;
+                }
+            }
+        }
+        for (int x = 0; x < extraDependency.length; x++) {
+            int dependency = newIndex[extraDependency[x]];
+            int dependent = newIndex[extraDependent[x]];
+            succ[succFill[dependency]++] = dependent;
+            pred[predFill[dependent]++] = dependency;
+        }
+
+        this.weightOrder = sortedIndices((a, b) -> Integer.compare(weights[b], weights[a]));
+    }
+
+    private CompiledTaskGraph(CompiledTaskGraph source, int[] members, IntPredicate satisfied,
+                              int[] memberDeadlines, int[] memberWeights) {
+        this.n = members.length;
+        this.tasks = new Task[n];
+        this.durations = new int[n];
+        this.deadlines = memberDeadlines.clone();
+        this.weights = memberWeights.clone();
+        this.inDegree = new int[n];
+        this.blocked = new boolean[n];
+        this.indexById = new HashMap<>(n * 2);
+
+        Map<Integer, Integer> local = new HashMap<>(n * 2);
+        for (int k = 0; k < n; k++) {
+            int i = members[k];
+            tasks[k] = source.tasks[i];
+            durations[k] = source.durations[i];
+            blocked[k] = source.blocked[i];
+            indexById.put(tasks[k].getId(), k);
+            local.put(i, k);
+        }
+
+        int edgeCount = 0;
+        int[] outDegree = new int[n];
+        for (int k = 0; k < n; k++) {
+            int i = members[k];
+            for (int e = source.predStart[i]; e < source.predStart[i + 1]; e++) {
+                Integer dependency = local.get(source.pred[e]);
+                if (dependency != null) {
+                    outDegree[dependency]++;
+                    inDegree[k]++;
+                    edgeCount++;
+                } else if (!satisfied.test(source.pred[e])) {
+                    blocked[k] = true;
+                }
+            }
+        }
+
+        this.succStart = new int[n + 1];
+        this.predStart = new int[n + 1];
+        for (int k = 0; k < n; k++) {
+            succStart[k + 1] = succStart[k] + outDegree[k];
+            predStart[k + 1] = predStart[k] + inDegree[k];
+        }
+        this.succ = new int[edgeCount];
+        this.pred = new int[edgeCount];
+        int[] succFill = Arrays.copyOf(succStart, n);
+        int[] predFill = Arrays.copyOf(predStart, n);
+        for (int k = 0; k < n; k++) {
+            int i = members[k];
+            for (int e = source.predStart[i]; e < source.predStart[i + 1]; e++) {
+                Integer dependency = local.get(source.pred[e]);
+                if (dependency != null) {
+                    succ[succFill[dependency]++] = k;
+                    pred[predFill[k]++] = dependency;
+                }
+            }
+        }
+
+        this.weightOrder = sortedIndices((a, b) -> Integer.compare(weights[b], weights[a]));
+    }
+
+    /**
+     * Compiles a task list into its array form
+     * @param tasks The tasks to schedule
+     * @param context Snapshot of the run the durations and flexible deadlines are read from
+     */
+    public static CompiledTaskGraph compile(List<Task> tasks, SchedulingContext context) {
+        return new CompiledTaskGraph(tasks, context);
+    }
+
+    /**
+     * Builds the subgraph of the kept tasks and dependencies, without reading the tasks again
+     * A kept task that loses a dependency to a dropped task is marked blocked
+     * @param keepTask Tasks to keep, by index
+     * @param keepEdge Dependencies to keep, by position in the successor array
+     */
+    CompiledTaskGraph restrict(boolean[] keepTask, boolean[] keepEdge) {
+        return new CompiledTaskGraph(this, keepTask, keepEdge, new int[0], new int[0]);
+    }
+
+    /**
+     * Builds a copy of the graph with extra ordering constraints; task indices are unchanged
+     * @param dependency Task that has to run first, for each extra constraint
+     * @param dependent Task that has to run after it
+     */
+    CompiledTaskGraph withExtraDependencies(int[] dependency, int[] dependent) {
+        boolean[] keepTask = new boolean[n];
+        boolean[] keepEdge = new boolean[succ.length];
+        Arrays.fill(keepTask, true);
+        Arrays.fill(keepEdge, true);
+        return new CompiledTaskGraph(this, keepTask, keepEdge, dependency, dependent);
+    }
+
+    /**
+     * Builds a small subproblem over some tasks, in O(tasks + their dependencies)
+     * Task k of the result is members[k]. Dependencies between members are kept, those on
+     * satisfied tasks are dropped, and any other dependency marks the member blocked.
+     * @param satisfied Whether a task, by index, is already done
+     * @param memberDeadlines Deadline of each member in the subproblem
+     * @param memberWeights Weight of each member in the subproblem
+     */
+    CompiledTaskGraph subproblem(int[] members, IntPredicate satisfied, int[] memberDeadlines, int[] memberWeights) {
+        return new CompiledTaskGraph(this, members, satisfied, memberDeadlines, memberWeights);
+    }
+
+    /**
+     * Gets the number of tasks in the graph
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Gets the task at an index
+     */
+    public Task task(int index) {
+        return tasks[index];
+    }
+
+    /**
+     * Gets the index of a task id, or -1 if the task is not in the graph
+     */
+    public int indexOf(Long taskId) {
+        Integer index = indexById.get(taskId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Converts a sequence of task indices back to task objects
+     */
+    public List<Task> toTasks(int[] indices) {
+        List<Task> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            result.add(tasks[index]);
+        }
+        return result;
+    }
+
+    /**
+     * Sums the weights of a sequence of task indices
+     */
+    public int totalWeight(int[] indices) {
+        int total = 0;
+        for (int index : indices) {
+            total += weights[index];
+        }
+        return total;
+    }
+
+    /**
+     * Returns task indices sorted with a comparator on indices
+     */
+    int[] sortedIndices(Comparator<Integer> comparator) {
+        Integer[] boxed = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, comparator);
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = boxed[i];
+        }
+        return result;
+    }
+
+    /**
+     * Orders task indices so that every task comes after its dependencies
+     * Tasks on a cycle are left out; they can never become available anyway
+     */
+    int[] topologicalOrder() {
+        int[] remaining = inDegree.clone();
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int i = order[head++];
+            for (int e = succStart[i]; e < succStart[i + 1]; e++) {
+                if (--remaining[succ[e]] == 0) {
+                    order[tail++] = succ[e];
+                }
+            }
+        }
+        return Arrays.copyOf(order, tail);
+    }
+}
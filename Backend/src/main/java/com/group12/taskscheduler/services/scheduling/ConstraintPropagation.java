@@ -0,0 +1,290 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import com.group12.taskscheduler.models.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Preprocessing pass that shrinks a scheduling instance before the search runs.
+ *
+ * Scheduling a task means scheduling every task it depends on, directly or indirectly,
+ * before it on the same timeline. Inside that prerequisite closure every task is
+ * mandatory, so latest finish times propagate backward: a task has to finish by its
+ * own deadline and by each dependent's latest finish minus that dependent's duration.
+ * Running the closure by earliest latest finish (EDD) then decides exactly whether the
+ * task can ever be part of a feasible schedule. Tasks that can never fit are dropped,
+ * and so is every task that depends on a dropped one.
+ *
+ * Dependencies implied by others (a task depending on both B and C when C already
+ * depends on B) are removed as well: the transitive reduction, computed with
+ * reachability bitsets. The engines check fewer edges and reach the same schedules.
+ */
+public final class ConstraintPropagation {
+
+    // Above this many tasks the reachability bitsets (n^2 / 8 bytes) are not built
+    private static final int TRANSITIVE_REDUCTION_TASK_LIMIT = 8192;
+
+    // Total closure work (tasks plus dependencies visited) before only the forward check is applied
+    private static final long CLOSURE_WORK_LIMIT = 20_000_000L;
+
+    private final CompiledTaskGraph reducedGraph;
+    private final List<Task> removedTasks;
+    private final int redundantDependencies;
+    private final boolean closureChecksComplete;
+
+    private ConstraintPropagation(CompiledTaskGraph reducedGraph, List<Task> removedTasks,
+                                  int redundantDependencies, boolean closureChecksComplete) {
+        this.reducedGraph = reducedGraph;
+        this.removedTasks = removedTasks;
+        this.redundantDependencies = redundantDependencies;
+        this.closureChecksComplete = closureChecksComplete;
+    }
+
+    /**
+     * Reduces a compiled task graph
+     * @param graph Every task of the run, so that dependencies on dropped tasks are known
+     */
+    public static ConstraintPropagation propagate(CompiledTaskGraph graph) {
+        int n = graph.n;
+        int[] order = graph.topologicalOrder();
+        int[] rank = new int[n];
+        Arrays.fill(rank, -1);
+        for (int position = 0; position < order.length; position++) {
+            rank[order[position]] = position;
+        }
+
+        // Dependencies come first in topological order, so every task sees their final state
+        boolean[] keep = new boolean[n];
+        long[] earliestFinish = new long[n];
+        Closure closure = new Closure(n);
+        long work = 0;
+        for (int task : order) {
+            if (graph.blocked[task]) {
+                continue;
+            }
+            boolean dependenciesKept = true;
+            long earliestStart = 0;
+            for (int e = graph.predStart[task]; e < graph.predStart[task + 1]; e++) {
+                int dependency = graph.pred[e];
+                if (!keep[dependency]) {
+                    dependenciesKept = false;
+                    break;
+                }
+                earliestStart = Math.max(earliestStart, earliestFinish[dependency]);
+            }
+            long finish = earliestStart + graph.durations[task];
+            if (!dependenciesKept || finish > graph.deadlines[task]) {
+                continue;
+            }
+            if (graph.predStart[task + 1] > graph.predStart[task] && work < CLOSURE_WORK_LIMIT) {
+                work += closure.collect(graph, task);
+                if (!closure.fits(graph, order, rank)) {
+                    continue;
+                }
+                // The whole closure runs before the task, not only its longest chain
+                finish = Math.max(finish, closure.totalDuration);
+            }
+            keep[task] = true;
+            earliestFinish[task] = finish;
+        }
+
+        List<Task> removed = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (!keep[i]) {
+                removed.add(graph.tasks[i]);
+            }
+        }
+
+        boolean[] keepEdge = new boolean[graph.succ.length];
+        Arrays.fill(keepEdge, true);
+        int redundant = 0;
+        if (n - removed.size() <= TRANSITIVE_REDUCTION_TASK_LIMIT) {
+            redundant = removeImpliedDependencies(graph, order, keep, keepEdge);
+        }
+        return new ConstraintPropagation(graph.restrict(keep, keepEdge), removed, redundant,
+            work < CLOSURE_WORK_LIMIT);
+    }
+
+    /**
+     * Gets the remaining tasks and dependencies
+     */
+    public CompiledTaskGraph getReducedGraph() {
+        return reducedGraph;
+    }
+
+    /**
+     * Gets the tasks that can never be part of a feasible schedule, in input order
+     */
+    public List<Task> getRemovedTasks() {
+        return removedTasks;
+    }
+
+    /**
+     * Gets the number of dependencies dropped because other dependencies imply them
+     */
+    public int getRedundantDependencyCount() {
+        return redundantDependencies;
+    }
+
+    /**
+     * Describes what the pass removed
+     */
+    public String describe() {
+        return "Propagation kept " + reducedGraph.n + " of " + (reducedGraph.n + removedTasks.size()) +
+            " tasks and dropped " + redundantDependencies + " implied dependencies" +
+            (closureChecksComplete ? "" : " (closure checks stopped at the work limit)");
+    }
+
+    /**
+     * Marks the dependencies of kept tasks that a longer dependency path already implies
+     * @return Number of dependencies marked
+     */
+    private static int removeImpliedDependencies(CompiledTaskGraph graph, int[] order, boolean[] keep,
+                                                 boolean[] keepEdge) {
+        // Number the kept tasks densely, in topological order
+        int[] dense = new int[graph.n];
+        Arrays.fill(dense, -1);
+        int count = 0;
+        for (int task : order) {
+            if (keep[task]) {
+                dense[task] = count++;
+            }
+        }
+        int words = (count + 63) >>> 6;
+
+        // reach[v] holds every kept task that depends on v, directly or not; leaves stay null
+        long[][] reach = new long[count][];
+        long[] implied = new long[words];
+        int redundant = 0;
+        for (int position = order.length - 1; position >= 0; position--) {
+            int task = order[position];
+            if (!keep[task]) {
+                continue;
+            }
+            // Tasks reachable through some dependent imply the direct edge to them
+            Arrays.fill(implied, 0L);
+            boolean hasDependents = false;
+            for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+                int dependent = graph.succ[e];
+                if (!keep[dependent]) {
+                    continue;
+                }
+                hasDependents = true;
+                long[] below = reach[dense[dependent]];
+                if (below != null) {
+                    for (int w = 0; w < words; w++) {
+                        implied[w] |= below[w];
+                    }
+                }
+            }
+            if (!hasDependents) {
+                continue;
+            }
+            long[] own = implied.clone();
+            for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+                int dependent = graph.succ[e];
+                if (!keep[dependent]) {
+                    continue;
+                }
+                int bit = dense[dependent];
+                if ((implied[bit >>> 6] & (1L << bit)) != 0) {
+                    keepEdge[e] = false;
+                    redundant++;
+                }
+                own[bit >>> 6] |= 1L << bit;
+            }
+            reach[dense[task]] = own;
+        }
+        return redundant;
+    }
+
+    /**
+     * Scratch space for the prerequisite closure of one task, reused across tasks
+     */
+    private static final class Closure {
+        final int[] mark;
+        final int[] members;
+        final int[] latestFinish;
+        final long[] eddKeys;
+        int stamp;
+        int size;
+        long totalDuration;
+
+        Closure(int n) {
+            this.mark = new int[n];
+            this.members = new int[n];
+            this.latestFinish = new int[n];
+            this.eddKeys = new long[n];
+        }
+
+        /**
+         * Collects a task and everything it depends on
+         * @return Tasks and dependencies visited
+         */
+        long collect(CompiledTaskGraph graph, int task) {
+            stamp++;
+            size = 0;
+            totalDuration = 0;
+            long visited = 0;
+            mark[task] = stamp;
+            members[size++] = task;
+            for (int next = 0; next < size; next++) {
+                int current = members[next];
+                totalDuration += graph.durations[current];
+                for (int e = graph.predStart[current]; e < graph.predStart[current + 1]; e++) {
+                    int dependency = graph.pred[e];
+                    visited++;
+                    if (mark[dependency] != stamp) {
+                        mark[dependency] = stamp;
+                        members[size++] = dependency;
+                    }
+                }
+            }
+            return visited + size;
+        }
+
+        /**
+         * Propagates latest finish times backward through the closure and checks that
+         * running it by earliest latest finish meets every one of them
+         */
+        boolean fits(CompiledTaskGraph graph, int[] order, int[] rank) {
+            int[] durations = graph.durations;
+            for (int m = 0; m < size; m++) {
+                latestFinish[members[m]] = graph.deadlines[members[m]];
+                eddKeys[m] = rank[members[m]];
+            }
+
+            // Dependents before their dependencies (reverse topological order), so every
+            // latest finish is final before it is pushed further back
+            Arrays.sort(eddKeys, 0, size);
+            for (int m = size - 1; m >= 0; m--) {
+                int current = order[(int) eddKeys[m]];
+                int latestStart = latestFinish[current] - durations[current];
+                for (int e = graph.predStart[current]; e < graph.predStart[current + 1]; e++) {
+                    int dependency = graph.pred[e];
+                    if (latestStart < latestFinish[dependency]) {
+                        latestFinish[dependency] = latestStart;
+                    }
+                }
+            }
+
+            // EDD on the latest finish times, ties in topological order
+            for (int m = 0; m < size; m++) {
+                int member = members[m];
+                eddKeys[m] = ((long) latestFinish[member] << 32) | rank[member];
+            }
+            Arrays.sort(eddKeys, 0, size);
+            long time = 0;
+            for (int m = 0; m < size; m++) {
+                int current = order[(int) eddKeys[m]];
+                time += durations[current];
+                if (time > latestFinish[current]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
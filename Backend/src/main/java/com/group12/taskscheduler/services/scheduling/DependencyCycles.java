@@ -0,0 +1,351 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Circular dependency report for a task graph, computed in one linear pass.
+ *
+ * Tarjan's algorithm (iterative, so deep dependency chains cannot overflow the stack)
+ * finds the strongly connected components; every component with more than one task,
+ * or a task depending on itself, is a set of mutually dependent tasks. For each such
+ * component the report also proposes dependency edges to drop: the back edges of a
+ * depth-first search inside the component, pruned so that no proposed edge can be
+ * kept without leaving a cycle (inclusion-minimal; a minimum set is NP-hard to find).
+ */
+public final class DependencyCycles {
+
+    // Above this much work per component the back edges are reported without pruning
+    private static final long MINIMIZATION_WORK_LIMIT = 20_000_000L;
+
+    private final List<List<Long>> components = new ArrayList<>();
+    private final List<long[]> edgesToBreak = new ArrayList<>();
+
+    // The same edges as positions in the analyzed graph's successor array
+    private final List<Integer> edgePositions = new ArrayList<>();
+
+    private DependencyCycles() {
+    }
+
+    /**
+     * Finds the circular dependencies of a compiled task graph
+     */
+    public static DependencyCycles analyze(CompiledTaskGraph graph) {
+        DependencyCycles report = new DependencyCycles();
+        int[] componentOf = stronglyConnectedComponents(graph);
+        int componentCount = 0;
+        for (int c : componentOf) {
+            componentCount = Math.max(componentCount, c + 1);
+        }
+
+        // Group the tasks of each component
+        int[] sizes = new int[componentCount];
+        for (int c : componentOf) {
+            sizes[c]++;
+        }
+        int[] start = new int[componentCount + 1];
+        for (int c = 0; c < componentCount; c++) {
+            start[c + 1] = start[c] + sizes[c];
+        }
+        int[] members = new int[graph.n];
+        int[] fill = start.clone();
+        for (int i = 0; i < graph.n; i++) {
+            members[fill[componentOf[i]]++] = i;
+        }
+
+        Workspace workspace = new Workspace(graph);
+        for (int c = 0; c < componentCount; c++) {
+            int first = members[start[c]];
+            boolean cyclic = sizes[c] > 1 || hasSelfLoop(graph, first);
+            if (!cyclic) {
+                continue;
+            }
+            List<Long> ids = new ArrayList<>(sizes[c]);
+            for (int m = start[c]; m < start[c + 1]; m++) {
+                ids.add(graph.task(members[m]).getId());
+            }
+            report.components.add(ids);
+            for (int e : breakingEdges(graph, componentOf, c, members, start[c], start[c + 1], workspace)) {
+                int dependency = edgeSource(graph, e);
+                int dependent = graph.succ[e];
+                report.edgesToBreak.add(new long[] {graph.task(dependent).getId(), graph.task(dependency).getId()});
+                report.edgePositions.add(e);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Whether any task depends on itself, directly or indirectly
+     */
+    public boolean hasCycles() {
+        return !components.isEmpty();
+    }
+
+    /**
+     * Gets the task ids of every group of mutually dependent tasks
+     */
+    public List<List<Long>> getComponents() {
+        return components;
+    }
+
+    /**
+     * Gets the dependencies to drop so that no cycle is left, as {dependent id, dependency id}
+     */
+    public List<long[]> getEdgesToBreak() {
+        return edgesToBreak;
+    }
+
+    /**
+     * Drops the dependencies that break the cycles from the analyzed graph
+     * @param graph The graph this report was computed for
+     */
+    public CompiledTaskGraph withoutCycles(CompiledTaskGraph graph) {
+        boolean[] keepTask = new boolean[graph.n];
+        boolean[] keepEdge = new boolean[graph.succ.length];
+        Arrays.fill(keepTask, true);
+        Arrays.fill(keepEdge, true);
+        for (int e : edgePositions) {
+            keepEdge[e] = false;
+        }
+        return graph.restrict(keepTask, keepEdge);
+    }
+
+    /**
+     * Describes the cycles and the dependencies that would break them
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder();
+        description.append(components.size()).append(" cyclic group(s) ").append(components);
+        description.append("; remove dependencies");
+        for (long[] edge : edgesToBreak) {
+            description.append(' ').append(edge[0]).append("->").append(edge[1]);
+        }
+        return description.toString();
+    }
+
+    /**
+     * Iterative Tarjan: returns the component number of every task
+     */
+    private static int[] stronglyConnectedComponents(CompiledTaskGraph graph) {
+        int n = graph.n;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] componentOf = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int[] nextEdge = new int[n];
+        Arrays.fill(index, -1);
+        int counter = 0;
+        int stackSize = 0;
+        int componentCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = low[root] = counter++;
+            nextEdge[root] = graph.succStart[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                if (nextEdge[v] < graph.succStart[v + 1]) {
+                    int w = graph.succ[nextEdge[v]++];
+                    if (index[w] < 0) {
+                        // Descend into an unvisited dependent
+                        index[w] = low[w] = counter++;
+                        nextEdge[w] = graph.succStart[w];
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // All edges of v done: close its component if v is the root of one
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        componentOf[w] = componentCount;
+                    } while (w != v);
+                    componentCount++;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        return componentOf;
+    }
+
+    private static boolean hasSelfLoop(CompiledTaskGraph graph, int task) {
+        for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+            if (graph.succ[e] == task) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int edgeSource(CompiledTaskGraph graph, int edge) {
+        // Binary search for the CSR row that holds the edge
+        int lo = 0;
+        int hi = graph.n - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (graph.succStart[mid] <= edge) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Scratch arrays shared by all components, so that many small cycles in a large
+     * graph do not each pay for graph-sized allocations. Components are disjoint and
+     * every array is only touched at the current component's tasks and edges.
+     */
+    private static final class Workspace {
+        final boolean[] onPath;
+        final boolean[] visited;
+        final int[] callStack;
+        final int[] nextEdge;
+        final int[] inDegree;
+        final int[] queue;
+        final boolean[] removed;
+
+        Workspace(CompiledTaskGraph graph) {
+            this.onPath = new boolean[graph.n];
+            this.visited = new boolean[graph.n];
+            this.callStack = new int[graph.n];
+            this.nextEdge = new int[graph.n];
+            this.inDegree = new int[graph.n];
+            this.queue = new int[graph.n];
+            this.removed = new boolean[graph.succ.length];
+        }
+    }
+
+    /**
+     * Picks edges (CSR positions in succ) whose removal makes a component acyclic
+     */
+    private static List<Integer> breakingEdges(CompiledTaskGraph graph, int[] componentOf, int component,
+                                               int[] members, int from, int to, Workspace workspace) {
+        // Back edges of a DFS inside the component: removing all of them leaves a DAG
+        int size = to - from;
+        boolean[] onPath = workspace.onPath;
+        boolean[] visited = workspace.visited;
+        int[] callStack = workspace.callStack;
+        int[] nextEdge = workspace.nextEdge;
+        List<Integer> backEdges = new ArrayList<>();
+        int componentEdges = 0;
+        for (int m = from; m < to; m++) {
+            int root = members[m];
+            for (int e = graph.succStart[root]; e < graph.succStart[root + 1]; e++) {
+                if (componentOf[graph.succ[e]] == component) {
+                    componentEdges++;
+                }
+            }
+            if (visited[root]) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            visited[root] = true;
+            onPath[root] = true;
+            nextEdge[root] = graph.succStart[root];
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                if (nextEdge[v] < graph.succStart[v + 1]) {
+                    int e = nextEdge[v]++;
+                    int w = graph.succ[e];
+                    if (componentOf[w] != component) {
+                        continue;
+                    }
+                    if (onPath[w]) {
+                        backEdges.add(e);
+                    } else if (!visited[w]) {
+                        visited[w] = true;
+                        onPath[w] = true;
+                        nextEdge[w] = graph.succStart[w];
+                        callStack[depth++] = w;
+                    }
+                    continue;
+                }
+                onPath[v] = false;
+                depth--;
+            }
+        }
+
+        // Put back every edge that does not close a cycle on its own
+        if ((long) backEdges.size() * (size + componentEdges) > MINIMIZATION_WORK_LIMIT) {
+            return backEdges;
+        }
+        boolean[] removed = workspace.removed;
+        for (int e : backEdges) {
+            removed[e] = true;
+        }
+        List<Integer> needed = new ArrayList<>();
+        for (int e : backEdges) {
+            removed[e] = false;
+            if (!isAcyclic(graph, componentOf, component, members, from, to, workspace)) {
+                removed[e] = true;
+                needed.add(e);
+            }
+        }
+        for (int e : needed) {
+            removed[e] = false;
+        }
+        return needed;
+    }
+
+    /**
+     * Kahn's algorithm restricted to one component and the edges not removed
+     */
+    private static boolean isAcyclic(CompiledTaskGraph graph, int[] componentOf, int component,
+                                     int[] members, int from, int to, Workspace workspace) {
+        boolean[] removed = workspace.removed;
+        int[] inDegree = workspace.inDegree;
+        for (int m = from; m < to; m++) {
+            inDegree[members[m]] = 0;
+        }
+        for (int m = from; m < to; m++) {
+            int v = members[m];
+            for (int e = graph.succStart[v]; e < graph.succStart[v + 1]; e++) {
+                if (!removed[e] && componentOf[graph.succ[e]] == component) {
+                    inDegree[graph.succ[e]]++;
+                }
+            }
+        }
+        int[] queue = workspace.queue;
+        int tail = 0;
+        for (int m = from; m < to; m++) {
+            if (inDegree[members[m]] == 0) {
+                queue[tail++] = members[m];
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int v = queue[head];
+            for (int e = graph.succStart[v]; e < graph.succStart[v + 1]; e++) {
+                int w = graph.succ[e];
+                if (!removed[e] && componentOf[w] == component && --inDegree[w] == 0) {
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return tail == to - from;
+    }
+}
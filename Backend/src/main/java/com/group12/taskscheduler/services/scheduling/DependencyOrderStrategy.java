@@ -0,0 +1,55 @@
+package com.group12.taskscheduler.services.scheduling;
+
+/**
+ * Schedules every task in dependency order and ignores deadlines (the test-mode behaviour)
+ * Tasks that are still on a dependency cycle go last, in input order.
+ */
+public class DependencyOrderStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "dependency-order";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return true;
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    @Override
+    public boolean respectsDeadlines() {
+        return false;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        CompiledTaskGraph graph = problem.getGraph();
+        int[] order = graph.topologicalOrder();
+        int[] sequence = new int[graph.n];
+        boolean[] placed = new boolean[graph.n];
+        for (int position = 0; position < order.length; position++) {
+            sequence[position] = order[position];
+            placed[order[position]] = true;
+        }
+        int size = order.length;
+        if (size < graph.n) {
+            problem.getTrace().summary("Not all tasks were included in topological sort. Adding remaining tasks.");
+            for (int i = 0; i < graph.n; i++) {
+                if (!placed[i]) {
+                    int task = i;
+                    problem.getTrace().detail(() -> "Adding task outside of topological order: " + 
+                        graph.task(task).getId() + " (" + graph.task(task).getName() + ")");
+                    sequence[size++] = i;
+                }
+            }
+        }
+        problem.getIncumbent().offer(graph.totalWeight(sequence), sequence);
+    }
+}
@@ -0,0 +1,162 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Fast heuristic for instances too large to search exactly.
+ *
+ * Tasks are appended in order of their latest useful finish: their own deadline, pulled
+ * earlier by the dependents that have to run after them. Whenever an appended task would
+ * finish late, the scheduled tasks with the lowest weight per day that nothing scheduled
+ * depends on are dropped again until it fits, provided they weigh less than the task
+ * itself; otherwise the task is dropped (a weighted, dependency-aware form of Moore and
+ * Hodgson's rule). Dropping a task never makes an earlier one late, so the schedule stays
+ * feasible throughout. Runs in O((n + e) log n) and proves nothing about optimality.
+ */
+public class GreedyStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "greedy";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return true;
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        CompiledTaskGraph graph = problem.getGraph();
+        int[] sequence = schedule(graph);
+        problem.getTrace().summary("Greedy schedule of " + sequence.length + " tasks, weight " +
+            graph.totalWeight(sequence));
+        problem.getIncumbent().offer(graph.totalWeight(sequence), sequence);
+    }
+
+    /**
+     * Builds a feasible schedule greedily
+     * @return Task indices in execution order
+     */
+    static int[] schedule(CompiledTaskGraph graph) {
+        int n = graph.n;
+        int[] durations = graph.durations;
+        int[] deadlines = graph.deadlines;
+        int[] weights = graph.weights;
+
+        // Latest useful finish: a task has to be done before its dependents can meet theirs
+        int[] topological = graph.topologicalOrder();
+        long[] dueBy = new long[n];
+        for (int i = 0; i < n; i++) {
+            dueBy[i] = deadlines[i];
+        }
+        for (int position = topological.length - 1; position >= 0; position--) {
+            int task = topological[position];
+            for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+                int dependent = graph.succ[e];
+                dueBy[task] = Math.min(dueBy[task], dueBy[dependent] - durations[dependent]);
+            }
+        }
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>((a, b) -> {
+            int byDue = Long.compare(dueBy[a], dueBy[b]);
+            return byDue != 0 ? byDue : Long.compare((long) weights[b] * durations[a], (long) weights[a] * durations[b]);
+        });
+        // Lowest weight per day first, the cheapest tasks to give up
+        PriorityQueue<Integer> removable = new PriorityQueue<>((a, b) -> {
+            int byRatio = Long.compare((long) weights[a] * durations[b], (long) weights[b] * durations[a]);
+            return byRatio != 0 ? byRatio : Integer.compare(weights[a], weights[b]);
+        });
+
+        int[] remaining = graph.inDegree.clone();
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) {
+                ready.add(i);
+            }
+        }
+        boolean[] scheduled = new boolean[n];
+        int[] scheduledDependents = new int[n];
+        // The removable heap may hold a task twice; each is given up at most once
+        boolean[] pending = new boolean[n];
+        List<Integer> appended = new ArrayList<>();
+        List<Integer> candidates = new ArrayList<>();
+        long time = 0;
+
+        while (!ready.isEmpty()) {
+            int task = ready.poll();
+            for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+                if (--remaining[graph.succ[e]] == 0) {
+                    ready.add(graph.succ[e]);
+                }
+            }
+            if (graph.blocked[task] || !dependenciesScheduled(graph, task, scheduled)) {
+                continue;
+            }
+
+            // Give up cheaper tasks if that lets this one finish in time, never its own dependencies
+            for (int e = graph.predStart[task]; e < graph.predStart[task + 1]; e++) {
+                scheduledDependents[graph.pred[e]]++;
+            }
+            long excess = time + durations[task] - deadlines[task];
+            long freedWeight = 0;
+            candidates.clear();
+            while (excess > 0 && !removable.isEmpty()) {
+                int candidate = removable.poll();
+                if (!scheduled[candidate] || scheduledDependents[candidate] != 0 || pending[candidate]) {
+                    continue;
+                }
+                pending[candidate] = true;
+                candidates.add(candidate);
+                excess -= durations[candidate];
+                freedWeight += weights[candidate];
+            }
+            for (int candidate : candidates) {
+                pending[candidate] = false;
+            }
+            if (excess > 0 || (!candidates.isEmpty() && freedWeight >= weights[task])) {
+                removable.addAll(candidates);
+                for (int e = graph.predStart[task]; e < graph.predStart[task + 1]; e++) {
+                    if (--scheduledDependents[graph.pred[e]] == 0) {
+                        removable.add(graph.pred[e]);
+                    }
+                }
+                continue;
+            }
+            for (int candidate : candidates) {
+                scheduled[candidate] = false;
+                time -= durations[candidate];
+                for (int e = graph.predStart[candidate]; e < graph.predStart[candidate + 1]; e++) {
+                    int dependency = graph.pred[e];
+                    if (--scheduledDependents[dependency] == 0) {
+                        removable.add(dependency);
+                    }
+                }
+            }
+
+            scheduled[task] = true;
+            appended.add(task);
+            time += durations[task];
+            removable.add(task);
+        }
+
+        return appended.stream().filter(task -> scheduled[task]).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean dependenciesScheduled(CompiledTaskGraph graph, int task, boolean[] scheduled) {
+        for (int e = graph.predStart[task]; e < graph.predStart[task + 1]; e++) {
+            if (!scheduled[graph.pred[e]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
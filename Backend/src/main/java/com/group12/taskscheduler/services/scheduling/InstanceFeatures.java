@@ -0,0 +1,96 @@
+package com.group12.taskscheduler.services.scheduling;
+
+/**
+ * Shape of a scheduling instance, used to pick a strategy and to group recorded solve times
+ */
+public final class InstanceFeatures {
+
+    private final int taskCount;
+    private final int dependencyCount;
+    private final double edgeDensity;
+    private final double deadlineTightness;
+    private final long timeIndexedCells;
+
+    public InstanceFeatures(int taskCount, int dependencyCount, double edgeDensity, double deadlineTightness) {
+        this(taskCount, dependencyCount, edgeDensity, deadlineTightness, -1);
+    }
+
+    public InstanceFeatures(int taskCount, int dependencyCount, double edgeDensity, double deadlineTightness,
+                            long timeIndexedCells) {
+        this.taskCount = taskCount;
+        this.dependencyCount = dependencyCount;
+        this.edgeDensity = edgeDensity;
+        this.deadlineTightness = deadlineTightness;
+        this.timeIndexedCells = timeIndexedCells;
+    }
+
+    /**
+     * Measures a compiled task graph
+     */
+    public static InstanceFeatures of(CompiledTaskGraph graph) {
+        int n = graph.n;
+        long totalDuration = 0;
+        int latestDeadline = 1;
+        for (int i = 0; i < n; i++) {
+            totalDuration += graph.durations[i];
+            latestDeadline = Math.max(latestDeadline, graph.deadlines[i]);
+        }
+        double possibleEdges = n < 2 ? 1.0 : (double) n * (n - 1) / 2;
+        TimeIndexedDpSolver timeIndexed = TimeIndexedDpSolver.of(graph);
+        return new InstanceFeatures(n, graph.succ.length, graph.succ.length / possibleEdges,
+            (double) totalDuration / latestDeadline, timeIndexed == null ? -1 : timeIndexed.cells());
+    }
+
+    /**
+     * Gets the number of tasks
+     */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Gets the number of dependencies
+     */
+    public int getDependencyCount() {
+        return dependencyCount;
+    }
+
+    /**
+     * Gets the dependencies as a fraction of all possible ones (0 to 1)
+     */
+    public double getEdgeDensity() {
+        return edgeDensity;
+    }
+
+    /**
+     * Gets the total duration divided by the latest deadline; above 1 not every task can fit
+     */
+    public double getDeadlineTightness() {
+        return deadlineTightness;
+    }
+
+    /**
+     * Gets the size of the time-indexed DP table for the instance, -1 when its dependencies
+     * are not chains with non-decreasing deadlines
+     */
+    public long getTimeIndexedCells() {
+        return timeIndexedCells;
+    }
+
+    /**
+     * Coarse class of similar instances: task count by powers of two, then sparse, medium or
+     * dense dependencies and loose, tight or overloaded deadlines
+     */
+    String bucket() {
+        int sizeClass = 32 - Integer.numberOfLeadingZeros(taskCount);
+        int densityClass = edgeDensity < 0.05 ? 0 : edgeDensity < 0.2 ? 1 : 2;
+        int tightnessClass = deadlineTightness <= 1.0 ? 0 : deadlineTightness <= 2.0 ? 1 : 2;
+        return sizeClass + "/" + densityClass + "/" + tightnessClass;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InstanceFeatures{tasks=%d, dependencies=%d, density=%.3f, tightness=%.2f, " +
+            "timeIndexedCells=%d}", taskCount, dependencyCount, edgeDensity, deadlineTightness, timeIndexedCells);
+    }
+}
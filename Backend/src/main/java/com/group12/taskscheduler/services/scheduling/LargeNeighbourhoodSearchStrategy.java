@@ -0,0 +1,286 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Heuristic for large instances: a greedy schedule improved by large-neighbourhood search.
+ *
+ * The greedy pass gives a first feasible schedule. Each step then destroys a window of
+ * consecutive scheduled tasks and repairs it exactly: the window's tasks, together with
+ * the most valuable unscheduled tasks whose dependencies are done by the end of the
+ * window, are re-sequenced by the subset DP. The repair may use the slack the later tasks
+ * have before their deadlines, and has to keep every window task a later task depends
+ * on, so the rest of the schedule stays feasible. It is kept when it adds weight, or
+ * frees time for the same weight. Windows are drawn from a seeded generator, so a run is
+ * reproducible for a seed unless its time budget cuts it short. Each window counts as
+ * one search node; the search ends when the budget does or when a long run of windows
+ * brings nothing.
+ */
+public class LargeNeighbourhoodSearchStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "lns";
+
+    // Scheduled tasks destroyed per step, and unscheduled tasks offered to the repair
+    // (the repair DP has 2^(sum) states)
+    private static final int WINDOW_TASKS = 8;
+    private static final int INSERTED_TASKS = 6;
+
+    // Fewest steps in a row without improvement before the search stops
+    private static final int MIN_STALLED_STEPS = 200;
+
+    // Points kept in the weight-over-time report
+    private static final int PROGRESS_POINTS = 16;
+
+    private static final int NO_LIMIT = Integer.MAX_VALUE / 2;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return true;
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        CompiledTaskGraph graph = problem.getGraph();
+        SharedIncumbent<int[]> incumbent = problem.getIncumbent();
+        SearchBudget budget = problem.getBudget();
+        long start = System.nanoTime();
+
+        int[] greedy = GreedyStrategy.schedule(graph);
+        incumbent.offer(graph.totalWeight(greedy), greedy);
+        Neighbourhood search = new Neighbourhood(graph);
+        search.reset(incumbent.getBestSchedule());
+
+        List<long[]> progress = new ArrayList<>();
+        progress.add(new long[] {(System.nanoTime() - start) / 1_000_000, search.weight});
+        Random random = new Random(problem.getSeed());
+        long steps = 0;
+        int stalled = 0;
+        while (stalled < Math.max(MIN_STALLED_STEPS, 4 * (search.length / WINDOW_TASKS + 1))
+                && budget.consumeNode()) {
+            // Another strategy racing on the same incumbent may have found better
+            if (incumbent.getBestWeight() > search.weight) {
+                search.reset(incumbent.getBestSchedule());
+            }
+            steps++;
+            if (search.step(random)) {
+                stalled = 0;
+                incumbent.offer(search.weight, search.schedule());
+                progress.add(new long[] {(System.nanoTime() - start) / 1_000_000, search.weight});
+            } else {
+                stalled++;
+            }
+        }
+
+        problem.getTrace().summary("Large-neighbourhood search: " + steps + " windows, weight over time " +
+            describeProgress(progress));
+    }
+
+    /**
+     * Formats up to PROGRESS_POINTS improvements as "ms:weight" pairs, always with the last one
+     */
+    private static String describeProgress(List<long[]> progress) {
+        int stride = (progress.size() + PROGRESS_POINTS - 1) / PROGRESS_POINTS;
+        StringBuilder description = new StringBuilder("[");
+        for (int p = 0; p < progress.size(); p++) {
+            if (p % stride != 0 && p != progress.size() - 1) {
+                continue;
+            }
+            if (description.length() > 1) {
+                description.append(", ");
+            }
+            description.append(progress.get(p)[0]).append(" ms: ").append(progress.get(p)[1]);
+        }
+        return description.append(']').toString();
+    }
+
+    /**
+     * Current schedule with the finish time and slack of every position
+     */
+    private static final class Neighbourhood {
+        final CompiledTaskGraph graph;
+        final int[] sequence;
+        final int[] position;
+        final int[] finish;
+        // slack[p]: how much the tasks from position p on can be delayed without missing a deadline
+        final int[] slack;
+        int length;
+        int weight;
+
+        // Scratch for the unscheduled tasks offered to a repair
+        final int[] inserted = new int[INSERTED_TASKS];
+        final double[] insertedScore = new double[INSERTED_TASKS];
+
+        Neighbourhood(CompiledTaskGraph graph) {
+            this.graph = graph;
+            this.sequence = new int[graph.n];
+            this.position = new int[graph.n];
+            this.finish = new int[graph.n];
+            this.slack = new int[graph.n + 1];
+        }
+
+        void reset(int[] schedule) {
+            Arrays.fill(position, -1);
+            System.arraycopy(schedule, 0, sequence, 0, schedule.length);
+            length = schedule.length;
+            for (int p = 0; p < length; p++) {
+                position[sequence[p]] = p;
+            }
+            weight = graph.totalWeight(schedule);
+            update(0);
+        }
+
+        int[] schedule() {
+            return Arrays.copyOf(sequence, length);
+        }
+
+        /**
+         * Destroys and repairs one random window
+         * @return true if the schedule gained weight
+         */
+        boolean step(Random random) {
+            int from = random.nextInt(length + 1);
+            int to = Math.min(length, from + WINDOW_TASKS);
+            int offset = from == 0 ? 0 : finish[from - 1];
+            int windowDuration = (to > from ? finish[to - 1] : offset) - offset;
+            int capacity = slack[to] >= NO_LIMIT ? NO_LIMIT : windowDuration + slack[to];
+
+            int insertedCount = pickInserted(random, offset, to);
+            int windowSize = to - from;
+            int[] members = new int[windowSize + insertedCount];
+            System.arraycopy(sequence, from, members, 0, windowSize);
+            System.arraycopy(inserted, 0, members, windowSize, insertedCount);
+
+            // Window tasks that later tasks depend on must stay: they outweigh everything else
+            boolean[] mandatory = new boolean[members.length];
+            int windowWeight = 0;
+            int bonus = 1;
+            for (int k = 0; k < members.length; k++) {
+                bonus += graph.weights[members[k]];
+                if (k < windowSize) {
+                    windowWeight += graph.weights[members[k]];
+                    mandatory[k] = hasDependentAfter(members[k], to);
+                }
+            }
+            int[] deadlines = new int[members.length];
+            int[] weights = new int[members.length];
+            for (int k = 0; k < members.length; k++) {
+                deadlines[k] = (int) Math.min((long) graph.deadlines[members[k]] - offset, capacity);
+                weights[k] = graph.weights[members[k]] + (mandatory[k] ? bonus : 0);
+            }
+            CompiledTaskGraph window = graph.subproblem(members,
+                task -> position[task] >= 0 && position[task] < from, deadlines, weights);
+            int[] repaired = new SubsetDpSolver(window).solve();
+
+            int repairedWeight = 0;
+            int repairedDuration = 0;
+            int keptMandatory = 0;
+            for (int k : repaired) {
+                repairedWeight += graph.weights[members[k]];
+                repairedDuration += graph.durations[members[k]];
+                keptMandatory += mandatory[k] ? 1 : 0;
+            }
+            int mandatoryCount = 0;
+            for (boolean required : mandatory) {
+                mandatoryCount += required ? 1 : 0;
+            }
+            if (keptMandatory < mandatoryCount || repairedWeight < windowWeight
+                    || (repairedWeight == windowWeight && repairedDuration >= windowDuration)) {
+                return false;
+            }
+
+            // Splice the repaired window in and shift the rest of the schedule
+            int[] suffix = Arrays.copyOfRange(sequence, to, length);
+            for (int p = from; p < to; p++) {
+                position[sequence[p]] = -1;
+            }
+            int p = from;
+            for (int k : repaired) {
+                sequence[p] = members[k];
+                position[members[k]] = p++;
+            }
+            for (int task : suffix) {
+                sequence[p] = task;
+                position[task] = p++;
+            }
+            length = p;
+            weight += repairedWeight - windowWeight;
+            update(from);
+            return repairedWeight > windowWeight;
+        }
+
+        /**
+         * Picks the unscheduled tasks with the most weight per day (with a random tilt) that
+         * could finish after the offset and only depend on tasks done before the window ends
+         */
+        private int pickInserted(Random random, int offset, int windowEnd) {
+            int count = 0;
+            for (int task = 0; task < graph.n; task++) {
+                if (position[task] >= 0 || graph.blocked[task]
+                        || graph.deadlines[task] - offset < graph.durations[task]) {
+                    continue;
+                }
+                boolean ready = true;
+                for (int e = graph.predStart[task]; e < graph.predStart[task + 1] && ready; e++) {
+                    int dependency = position[graph.pred[e]];
+                    ready = dependency >= 0 && dependency < windowEnd;
+                }
+                if (!ready) {
+                    continue;
+                }
+                double score = graph.weights[task] / (double) Math.max(1, graph.durations[task]) *
+                    (0.75 + 0.5 * random.nextDouble());
+                // Insertion into the short list, best first
+                int slot = count < INSERTED_TASKS ? count++ : INSERTED_TASKS;
+                while (slot > 0 && insertedScore[slot - 1] < score) {
+                    if (slot < INSERTED_TASKS) {
+                        inserted[slot] = inserted[slot - 1];
+                        insertedScore[slot] = insertedScore[slot - 1];
+                    }
+                    slot--;
+                }
+                if (slot < INSERTED_TASKS) {
+                    inserted[slot] = task;
+                    insertedScore[slot] = score;
+                }
+            }
+            return count;
+        }
+
+        private boolean hasDependentAfter(int task, int windowEnd) {
+            for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+                if (position[graph.succ[e]] >= windowEnd) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Recomputes the finish times from a position on, and every slack
+         */
+        private void update(int from) {
+            int time = from == 0 ? 0 : finish[from - 1];
+            for (int p = from; p < length; p++) {
+                time += graph.durations[sequence[p]];
+                finish[p] = time;
+            }
+            slack[length] = NO_LIMIT;
+            for (int p = length - 1; p >= 0; p--) {
+                slack[p] = Math.min(slack[p + 1], graph.deadlines[sequence[p]] - finish[p]);
+            }
+        }
+    }
+}
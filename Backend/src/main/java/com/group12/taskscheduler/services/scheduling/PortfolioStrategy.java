@@ -0,0 +1,124 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Races several strategies on the same instance.
+ *
+ * No single engine wins on every task graph, so the members (the exact searches, the
+ * heuristics, the subset DP on small instances) run concurrently on a shared executor.
+ * They all offer to and prune against the same incumbent, so a good heuristic schedule
+ * immediately tightens the exact searches. Each member draws on a fork of the run's
+ * budget: as soon as an exact member finishes within it, its schedule is proven optimal
+ * and the others are cancelled; otherwise the run ends when the budget does. The proven
+ * upper bound is the tightest bound any exact member reached.
+ */
+public class PortfolioStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "portfolio";
+
+    private final Function<InstanceFeatures, List<SchedulingStrategy>> members;
+    private final Supplier<ExecutorService> executor;
+
+    /**
+     * @param members The strategies to race on an instance
+     * @param executor Executor the members run on
+     */
+    public PortfolioStrategy(Function<InstanceFeatures, List<SchedulingStrategy>> members,
+                             Supplier<ExecutorService> executor) {
+        this.members = members;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return true;
+    }
+
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        SolverTrace.Run trace = problem.getTrace();
+        List<SchedulingStrategy> racing = members.apply(InstanceFeatures.of(problem.getGraph()));
+        List<SearchBudget> budgets = new ArrayList<>(racing.size());
+        List<Future<SchedulingStrategy>> futures = new ArrayList<>(racing.size());
+        ExecutorCompletionService<SchedulingStrategy> completion = new ExecutorCompletionService<>(executor.get());
+        long start = System.nanoTime();
+        trace.summary("Portfolio racing " + racing.stream().map(SchedulingStrategy::getName).toList());
+
+        for (SchedulingStrategy member : racing) {
+            SearchBudget budget = problem.getBudget().fork();
+            SchedulingProblem memberProblem = new SchedulingProblem(problem.getGraph(), problem.getIncumbent(),
+                budget, trace, problem.getPool(), problem.getSeed(), problem.getStatistics());
+            budgets.add(budget);
+            futures.add(completion.submit(() -> {
+                member.solve(memberProblem);
+                return member;
+            }));
+        }
+
+        RuntimeException failure = null;
+        boolean proven = false;
+        try {
+            for (int finished = 0; finished < futures.size(); finished++) {
+                Future<SchedulingStrategy> done = completion.take();
+                try {
+                    SchedulingStrategy member = done.get();
+                    SearchBudget budget = budgets.get(futures.indexOf(done));
+                    if (!proven && member.isExact() && !budget.isExhausted()) {
+                        proven = true;
+                        trace.summary("Portfolio member " + member.getName() + " proved optimality after " +
+                            (System.nanoTime() - start) / 1_000_000 + " ms, weight " +
+                            problem.getIncumbent().getBestWeight());
+                        budgets.forEach(SearchBudget::cancel);
+                    }
+                } catch (ExecutionException e) {
+                    // Stop the others and report the first failure once they have returned
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException runtime ? runtime
+                            : new IllegalStateException("Portfolio member failed", e.getCause());
+                    }
+                    budgets.forEach(SearchBudget::cancel);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Nothing was proven; the run reports its budget as cut short
+            budgets.forEach(SearchBudget::cancel);
+            problem.getBudget().cancel();
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        if (!proven) {
+            // Any exact member's bound holds; members that were cut short left their unexplored subtrees
+            int bestWeight = problem.getIncumbent().getBestWeight();
+            int bound = Integer.MAX_VALUE;
+            for (int m = 0; m < racing.size(); m++) {
+                if (racing.get(m).isExact()) {
+                    bound = Math.min(bound, budgets.get(m).provenUpperBound(bestWeight));
+                }
+            }
+            if (bound != Integer.MAX_VALUE) {
+                problem.getBudget().recordUnexplored(bound);
+            }
+        }
+    }
+}
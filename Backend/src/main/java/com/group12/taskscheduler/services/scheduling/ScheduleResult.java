@@ -0,0 +1,86 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import com.group12.taskscheduler.models.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a scheduling run: the best schedule found together with the best
+ * proven upper bound on the optimum. When the search finished the two are equal.
+ * The run's statistics say where its time went.
+ */
+public class ScheduleResult {
+
+    private final List<Task> schedule;
+    private final int totalWeight;
+    private final int upperBound;
+    private final boolean optimal;
+    private final String engine;
+    private final long nodeCount;
+    private final SolverStatistics statistics;
+
+    public ScheduleResult(List<Task> schedule, int upperBound, boolean optimal, String engine, long nodeCount,
+                          SolverStatistics statistics) {
+        this.schedule = schedule;
+        this.totalWeight = schedule.stream().mapToInt(Task::getWeight).sum();
+        this.upperBound = Math.max(upperBound, totalWeight);
+        this.optimal = optimal;
+        this.engine = engine;
+        this.nodeCount = nodeCount;
+        this.statistics = statistics;
+        statistics.setNodeCount(nodeCount);
+    }
+
+    /**
+     * Creates the result for an empty task list
+     */
+    public static ScheduleResult empty(String engine) {
+        return empty(engine, SolverStatistics.empty());
+    }
+
+    /**
+     * Creates the result of a run that found nothing to schedule
+     */
+    public static ScheduleResult empty(String engine, SolverStatistics statistics) {
+        return new ScheduleResult(new ArrayList<>(), 0, true, engine, 0, statistics);
+    }
+
+    public List<Task> getSchedule() {
+        return schedule;
+    }
+
+    public int getTotalWeight() {
+        return totalWeight;
+    }
+
+    public int getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Whether the schedule is proven optimal (the search was not cut short)
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    /**
+     * Relative optimality gap, (upperBound - totalWeight) / upperBound
+     */
+    public double getGap() {
+        return upperBound == 0 ? 0.0 : (double) (upperBound - totalWeight) / upperBound;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,128 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Admissible upper bound on the weight that can still be added to a partial schedule.
+ *
+ * Every unscheduled task that is still reachable counts, not only the ones available
+ * right now. A task is reachable when it has not missed its deadline and none of its
+ * unscheduled dependencies has either. The reachable tasks are then relaxed into
+ * fractional knapsacks: for every deadline D, the tasks due by D have to fit into the
+ * time left until D, while later tasks are counted in full. The smallest of those
+ * values is returned, which never underestimates the best completion.
+ */
+public class ScheduleUpperBound {
+
+    private final CompiledTaskGraph graph;
+    private final int[] topologicalOrder;
+    private final int[] ratioOrder;
+    private final int[] deadlineLevels;
+
+    public ScheduleUpperBound(CompiledTaskGraph graph) {
+        this.graph = graph;
+        this.topologicalOrder = graph.topologicalOrder();
+
+        // Best weight per day first; zero-duration tasks always fit
+        int[] weights = graph.weights;
+        int[] durations = graph.durations;
+        this.ratioOrder = graph.sortedIndices((a, b) -> Long.compare(
+            (long) weights[b] * Math.max(durations[a], 0),
+            (long) weights[a] * Math.max(durations[b], 0)));
+
+        this.deadlineLevels = Arrays.stream(graph.deadlines).distinct().sorted().toArray();
+    }
+
+    /**
+     * Per-thread scratch space, so that computing the bound does not allocate
+     */
+    public static final class Scratch {
+        final int[] earliestFinish;
+        final boolean[] reachable;
+
+        public Scratch(int size) {
+            this.earliestFinish = new int[size];
+            this.reachable = new boolean[size];
+        }
+    }
+
+    /**
+     * Computes an upper bound on the weight that can still be added
+     * @param currentTime Time at which the next task would start
+     * @param scheduled Tasks already in the partial schedule, by index
+     * @param scratch Scratch space owned by the calling thread
+     * @param cutoff The caller prunes at or below this value, so the computation stops
+     *               early once the bound drops that far
+     * @return Maximum additional weight any completion of the schedule can reach
+     */
+    public int bound(int currentTime, BitSet scheduled, Scratch scratch, int cutoff) {
+        int[] durations = graph.durations;
+        int[] deadlines = graph.deadlines;
+        int[] weights = graph.weights;
+        int[] predStart = graph.predStart;
+        int[] pred = graph.pred;
+        boolean[] blocked = graph.blocked;
+        int[] earliestFinish = scratch.earliestFinish;
+        boolean[] reachable = scratch.reachable;
+
+        // Earliest finish ignoring competition for the timeline, in dependency order
+        int best = 0;
+        for (int i : topologicalOrder) {
+            reachable[i] = false;
+            if (scheduled.get(i) || blocked[i]) {
+                continue;
+            }
+            int start = currentTime;
+            boolean predecessorsReachable = true;
+            for (int e = predStart[i]; e < predStart[i + 1]; e++) {
+                int p = pred[e];
+                if (scheduled.get(p)) {
+                    continue;
+                }
+                if (!reachable[p]) {
+                    predecessorsReachable = false;
+                    break;
+                }
+                start = Math.max(start, earliestFinish[p]);
+            }
+            if (!predecessorsReachable) {
+                continue;
+            }
+            earliestFinish[i] = start + durations[i];
+            reachable[i] = earliestFinish[i] <= deadlines[i];
+            if (reachable[i]) {
+                // Without any capacity limit every reachable task could be added
+                best += weights[i];
+            }
+        }
+
+        for (int level : deadlineLevels) {
+            if (best <= cutoff) {
+                break;
+            }
+            int capacity = level - currentTime;
+            if (capacity < 0) {
+                continue;
+            }
+            double value = 0;
+            for (int i : ratioOrder) {
+                if (!reachable[i]) {
+                    continue;
+                }
+                if (deadlines[i] > level) {
+                    value += weights[i];
+                } else if (durations[i] <= capacity) {
+                    value += weights[i];
+                    capacity -= durations[i];
+                } else if (capacity > 0) {
+                    value += (double) weights[i] * capacity / durations[i];
+                    capacity = 0;
+                }
+            }
+            best = Math.min(best, (int) Math.floor(value + 1e-9));
+        }
+
+        return best;
+    }
+}
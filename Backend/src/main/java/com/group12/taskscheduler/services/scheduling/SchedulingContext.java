@@ -0,0 +1,86 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import com.group12.taskscheduler.models.Task;
+
+import java.time.LocalDate;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Per-run snapshot of the time-dependent task attributes.
+ *
+ * Deadlines are relative to "today", so they are computed once, against a single
+ * reference date, when the run starts. A run that crosses midnight therefore sees
+ * consistent deadlines, and the pipeline never repeats the date arithmetic: every
+ * stage looks the raw deadline, flexible deadline and duration up here instead.
+ */
+public final class SchedulingContext {
+
+    private final LocalDate referenceDate;
+    private final Map<Task, Integer> indexByTask;
+    private final int[] deadlines;
+    private final int[] flexibleDeadlines;
+    private final int[] durations;
+
+    /**
+     * @param tasks The tasks of the run
+     * @param referenceDate Date that deadlines are counted from
+     * @param flexibleDeadline Function giving the deadline a task must finish by, from the
+     *                         task and its raw deadline in days
+     */
+    public SchedulingContext(List<Task> tasks, LocalDate referenceDate,
+                             ToIntBiFunction<Task, Integer> flexibleDeadline) {
+        int n = tasks.size();
+        this.referenceDate = referenceDate;
+        this.indexByTask = new IdentityHashMap<>(n * 2);
+        this.deadlines = new int[n];
+        this.flexibleDeadlines = new int[n];
+        this.durations = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            Task task = tasks.get(i);
+            indexByTask.put(task, i);
+            deadlines[i] = task.getDeadlineAsInt(referenceDate);
+            flexibleDeadlines[i] = flexibleDeadline.applyAsInt(task, deadlines[i]);
+            durations[i] = task.getDurationInDays();
+        }
+    }
+
+    /**
+     * Gets the date deadlines are counted from
+     */
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+
+    /**
+     * Gets the deadline of a task in days from the reference date
+     */
+    public int getDeadline(Task task) {
+        return deadlines[index(task)];
+    }
+
+    /**
+     * Gets the deadline a task must finish by, flexibility included
+     */
+    public int getFlexibleDeadline(Task task) {
+        return flexibleDeadlines[index(task)];
+    }
+
+    /**
+     * Gets the duration of a task in days
+     */
+    public int getDuration(Task task) {
+        return durations[index(task)];
+    }
+
+    private int index(Task task) {
+        Integer index = indexByTask.get(task);
+        if (index == null) {
+            throw new IllegalArgumentException("Task " + task.getId() + " is not part of this scheduling run");
+        }
+        return index;
+    }
+}
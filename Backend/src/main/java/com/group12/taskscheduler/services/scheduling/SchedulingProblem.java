@@ -0,0 +1,65 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Everything a scheduling strategy needs for one run
+ */
+public class SchedulingProblem {
+
+    private final CompiledTaskGraph graph;
+    private final SharedIncumbent<int[]> incumbent;
+    private final SearchBudget budget;
+    private final SolverTrace.Run trace;
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final SolverStatistics statistics;
+
+    /**
+     * @param graph The compiled tasks to schedule
+     * @param incumbent Best schedule so far (task indices in execution order)
+     * @param budget Time and node budget of the run
+     * @param trace Trace of the run
+     * @param pool Pool for parallel search, null to run on the calling thread
+     * @param seed Seed of the randomized heuristics
+     * @param statistics Counters of the run the search engines add to
+     */
+    public SchedulingProblem(CompiledTaskGraph graph, SharedIncumbent<int[]> incumbent, SearchBudget budget,
+                             SolverTrace.Run trace, ForkJoinPool pool, long seed, SolverStatistics statistics) {
+        this.graph = graph;
+        this.incumbent = incumbent;
+        this.budget = budget;
+        this.trace = trace;
+        this.pool = pool;
+        this.seed = seed;
+        this.statistics = statistics;
+    }
+
+    public CompiledTaskGraph getGraph() {
+        return graph;
+    }
+
+    public SharedIncumbent<int[]> getIncumbent() {
+        return incumbent;
+    }
+
+    public SearchBudget getBudget() {
+        return budget;
+    }
+
+    public SolverTrace.Run getTrace() {
+        return trace;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,40 @@
+package com.group12.taskscheduler.services.scheduling;
+
+/**
+ * A scheduling engine that can be registered with the scheduler service and selected
+ * automatically or pinned by name for a single request.
+ *
+ * Strategies run on a compiled task graph and report every schedule they find to the
+ * problem's incumbent; the service turns the best one into the result. Strategies that
+ * respect deadlines get the candidate tasks left after propagation and symmetry breaking,
+ * the others get every task.
+ */
+public interface SchedulingStrategy {
+
+    /**
+     * Gets the name used to pin the strategy, also reported as the engine of a result
+     */
+    String getName();
+
+    /**
+     * Whether the strategy can run an instance of this shape (for example within a size cap)
+     */
+    boolean isApplicable(InstanceFeatures features);
+
+    /**
+     * Whether a run that finishes within its budget proves its schedule optimal
+     */
+    boolean isExact();
+
+    /**
+     * Whether every schedule meets its deadlines; when not, the strategy gets all tasks
+     */
+    default boolean respectsDeadlines() {
+        return true;
+    }
+
+    /**
+     * Searches for schedules, offering each improvement to the problem's incumbent
+     */
+    void solve(SchedulingProblem problem);
+}
@@ -0,0 +1,126 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the time and node budget of one scheduling run.
+ *
+ * Once the budget runs out every search worker stops expanding nodes. Each node that is
+ * left with unexplored branches reports its upper bound, so the best proven bound on the
+ * optimum is still known when the search is cut short. Safe to share between workers.
+ *
+ * A forked budget draws its nodes and time from its parent but keeps its own bounds and
+ * can be cancelled on its own, so that several engines racing on one run can each be
+ * stopped and each report what they proved.
+ */
+public class SearchBudget {
+
+    // Check the clock only every 256 nodes; System.nanoTime is not free
+    private static final long CLOCK_CHECK_MASK = 0xFF;
+
+    private final long deadlineNanos;
+    private final long nodeLimit;
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicInteger unexploredBound = new AtomicInteger(Integer.MIN_VALUE);
+    private volatile boolean exhausted;
+    private volatile boolean cancelled;
+    
+    // Budget the nodes and time are drawn from, null for a top-level budget
+    private final SearchBudget parent;
+
+    /**
+     * @param timeLimitMillis Wall-clock limit in milliseconds, 0 for none
+     * @param nodeLimit Node limit, 0 for none
+     */
+    public SearchBudget(long timeLimitMillis, long nodeLimit) {
+        this.deadlineNanos = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1_000_000L : 0;
+        this.nodeLimit = nodeLimit;
+        this.parent = null;
+    }
+
+    private SearchBudget(SearchBudget parent) {
+        this.deadlineNanos = 0;
+        this.nodeLimit = 0;
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a budget without any limit
+     */
+    public static SearchBudget unlimited() {
+        return new SearchBudget(0, 0);
+    }
+
+    /**
+     * Creates a budget that shares this budget's nodes and time but records its own bounds
+     */
+    public SearchBudget fork() {
+        return new SearchBudget(this);
+    }
+
+    /**
+     * Stops the searches running on this budget, as if it had run out
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Accounts for one expanded search node
+     * @return false if the budget is exhausted and the node should not be expanded
+     */
+    public boolean consumeNode() {
+        if (cancelled) {
+            return false;
+        }
+        if (parent != null) {
+            return parent.consumeNode();
+        }
+        if (exhausted) {
+            return false;
+        }
+        long count = nodes.incrementAndGet();
+        if (nodeLimit > 0 && count > nodeLimit) {
+            exhausted = true;
+        } else if (deadlineNanos != 0 && (count & CLOCK_CHECK_MASK) == 0 
+                && System.nanoTime() - deadlineNanos > 0) {
+            exhausted = true;
+        }
+        return !exhausted;
+    }
+
+    /**
+     * Checks whether the budget has run out
+     */
+    public boolean isExhausted() {
+        return cancelled || exhausted || (parent != null && parent.isExhausted());
+    }
+
+    /**
+     * Records the upper bound of a node whose subtree was not fully explored
+     * @param bound Total weight no schedule in the subtree can exceed
+     */
+    public void recordUnexplored(int bound) {
+        unexploredBound.accumulateAndGet(bound, Math::max);
+    }
+
+    /**
+     * Combines the best weight found with the bounds of the unexplored subtrees
+     * @param bestWeight Weight of the best schedule found
+     * @return Proven upper bound on the optimal weight
+     */
+    public int provenUpperBound(int bestWeight) {
+        return Math.max(bestWeight, unexploredBound.get());
+    }
+
+    /**
+     * Gets the number of nodes expanded so far
+     */
+    public long getNodeCount() {
+        if (parent != null) {
+            return parent.getNodeCount();
+        }
+        return Math.min(nodes.get(), nodeLimit > 0 ? nodeLimit : Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Best solution found so far, shared between search workers.
+ *
+ * Readers only do a volatile read to get the weight to prune against; writers publish
+ * a new immutable snapshot with compare-and-set, so no worker ever blocks on another.
+ * @param <S> Representation of the schedule (owned by the incumbent once offered)
+ */
+public class SharedIncumbent<S> {
+
+    private static final class Snapshot<S> {
+        final int weight;
+        final S schedule;
+
+        Snapshot(int weight, S schedule) {
+            this.weight = weight;
+            this.schedule = schedule;
+        }
+    }
+
+    private final AtomicReference<Snapshot<S>> best;
+
+    // Told the weight of every new best schedule
+    private final IntConsumer onImprovement;
+
+    /**
+     * @param initialWeight Weight of the initial schedule
+     * @param initialSchedule Initial schedule (usually empty)
+     */
+    public SharedIncumbent(int initialWeight, S initialSchedule) {
+        this(initialWeight, initialSchedule, weight -> { });
+    }
+
+    /**
+     * @param initialWeight Weight of the initial schedule
+     * @param initialSchedule Initial schedule (usually empty)
+     * @param onImprovement Called with the weight of every schedule that becomes the incumbent
+     */
+    public SharedIncumbent(int initialWeight, S initialSchedule, IntConsumer onImprovement) {
+        this.best = new AtomicReference<>(new Snapshot<>(initialWeight, initialSchedule));
+        this.onImprovement = onImprovement;
+    }
+
+    /**
+     * Gets the weight of the best schedule found so far
+     */
+    public int getBestWeight() {
+        return best.get().weight;
+    }
+
+    /**
+     * Gets the best schedule found so far
+     */
+    public S getBestSchedule() {
+        return best.get().schedule;
+    }
+
+    /**
+     * Replaces the incumbent if the offered schedule is strictly better
+     * @param weight Total weight of the offered schedule
+     * @param schedule The offered schedule; must not be modified afterwards
+     * @return true if the offered schedule became the new incumbent
+     */
+    public boolean offer(int weight, S schedule) {
+        Snapshot<S> candidate = new Snapshot<>(weight, schedule);
+        while (true) {
+            Snapshot<S> current = best.get();
+            if (weight <= current.weight) {
+                return false;
+            }
+            if (best.compareAndSet(current, candidate)) {
+                onImprovement.accept(weight);
+                return true;
+            }
+        }
+    }
+}
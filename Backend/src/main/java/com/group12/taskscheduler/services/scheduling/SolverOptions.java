@@ -0,0 +1,96 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.time.LocalDate;
+
+/**
+ * Per-request options for a scheduling run
+ * Limits of 0 mean "no limit" (or the service default, where one is configured)
+ */
+public class SolverOptions {
+
+    // Wall-clock budget for the search in milliseconds
+    private long timeLimitMillis;
+
+    // Maximum number of search nodes to expand
+    private long nodeLimit;
+
+    // Date deadlines are counted from, null for today
+    private LocalDate referenceDate;
+
+    // Whether the search starts from the previous schedule, repaired for task edits
+    private boolean warmStart = true;
+
+    // Name of the scheduling strategy to use, null to let the selector choose
+    private String strategy;
+
+    // Seed of the randomized heuristics; runs with the same seed and node limit are reproducible
+    private long seed;
+
+    public SolverOptions() {
+    }
+
+    public SolverOptions(long timeLimitMillis, long nodeLimit) {
+        this.timeLimitMillis = timeLimitMillis;
+        this.nodeLimit = nodeLimit;
+    }
+
+    public long getTimeLimitMillis() {
+        return timeLimitMillis;
+    }
+
+    public void setTimeLimitMillis(long timeLimitMillis) {
+        this.timeLimitMillis = Math.max(0, timeLimitMillis);
+    }
+
+    public long getNodeLimit() {
+        return nodeLimit;
+    }
+
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = Math.max(0, nodeLimit);
+    }
+
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+
+    public void setReferenceDate(LocalDate referenceDate) {
+        this.referenceDate = referenceDate;
+    }
+
+    public boolean isWarmStart() {
+        return warmStart;
+    }
+
+    public void setWarmStart(boolean warmStart) {
+        this.warmStart = warmStart;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy == null || strategy.isBlank() ? null : strategy.trim();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public String toString() {
+        return "SolverOptions{" +
+                "timeLimitMillis=" + timeLimitMillis +
+                ", nodeLimit=" + nodeLimit +
+                ", referenceDate=" + referenceDate +
+                ", warmStart=" + warmStart +
+                ", strategy=" + strategy +
+                ", seed=" + seed +
+                '}';
+    }
+}
@@ -0,0 +1,241 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and timings of one scheduling run, returned with its schedule.
+ *
+ * The search engines count prunes and the deepest node per worker in plain fields and
+ * add them here once, when the worker is done, so the hot loops stay free of shared
+ * writes. Phase times are recorded by the thread driving the run; incumbent improvements
+ * by whichever worker found them. Safe to share between workers.
+ */
+public class SolverStatistics {
+
+    /**
+     * Stages of a scheduling run
+     */
+    public enum Phase {
+        // Compiling the tasks and looking for circular dependencies
+        CYCLE_CHECK,
+        // Earliest starts and latest finishes, dropping the tasks that can never fit
+        PROPAGATION,
+        // Symmetry breaking, strategy choice and the warm start
+        PREPARATION,
+        // The strategy's search
+        SEARCH,
+        // Bounding, start and end times and the final schedule
+        POST_PROCESSING
+    }
+
+    /**
+     * Why a search node or a candidate task was not expanded
+     */
+    public enum PruneReason {
+        // No completion could beat the best schedule
+        BOUND,
+        // The task would finish after its deadline
+        DEADLINE,
+        // A dependency of the task is not scheduled, or can never be
+        DEPENDENCY
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final PruneReason[] PRUNE_REASONS = PruneReason.values();
+
+    // Improvements kept; later ones replace the last kept so the final weight is always there
+    private static final int MAX_IMPROVEMENTS = 256;
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray prunes = new AtomicLongArray(PRUNE_REASONS.length);
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final AtomicLong tableLookups = new AtomicLong();
+    private final AtomicLong tableHits = new AtomicLong();
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final List<long[]> improvements = new ArrayList<>();
+    private int droppedImprovements;
+    private volatile int taskCount;
+    private volatile long nodeCount;
+
+    /**
+     * Statistics of a run that did no work, such as one over an empty task list
+     */
+    public static SolverStatistics empty() {
+        return new SolverStatistics();
+    }
+
+    /**
+     * Adds the prunes a worker counted
+     */
+    public void addPrunes(PruneReason reason, long count) {
+        if (count > 0) {
+            prunes.addAndGet(reason.ordinal(), count);
+        }
+    }
+
+    /**
+     * Records the depth a worker reached
+     */
+    public void reachedDepth(int depth) {
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    /**
+     * Adds the transposition table lookups a worker made, and how many of them found a
+     * state that was pruned
+     */
+    public void addTableLookups(long lookups, long hits) {
+        if (lookups > 0) {
+            tableLookups.addAndGet(lookups);
+            tableHits.addAndGet(hits);
+        }
+    }
+
+    /**
+     * Adds the time spent in a phase
+     * @param startNanos System.nanoTime() when the phase started
+     * @return System.nanoTime() now, the start of the next phase
+     */
+    public long phaseDone(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - startNanos;
+        return now;
+    }
+
+    /**
+     * Records a new best schedule, with the time since the run started
+     */
+    public synchronized void improved(int weight) {
+        long[] point = {(System.nanoTime() - startNanos) / 1_000_000, weight};
+        if (improvements.size() < MAX_IMPROVEMENTS) {
+            improvements.add(point);
+        } else {
+            improvements.set(MAX_IMPROVEMENTS - 1, point);
+            droppedImprovements++;
+        }
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Gets the number of tasks the run was given
+     */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public void setNodeCount(long nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public long getPrunes(PruneReason reason) {
+        return prunes.get(reason.ordinal());
+    }
+
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public long getTableLookups() {
+        return tableLookups.get();
+    }
+
+    public long getTableHits() {
+        return tableHits.get();
+    }
+
+    /**
+     * Gets the share of transposition table lookups that pruned a state, 0 without lookups
+     */
+    public double getTableHitRate() {
+        long lookups = tableLookups.get();
+        return lookups == 0 ? 0 : (double) tableHits.get() / lookups;
+    }
+
+    /**
+     * Gets the time spent in a phase, in milliseconds
+     */
+    public double getPhaseMillis(Phase phase) {
+        return phaseNanos[phase.ordinal()] / 1e6;
+    }
+
+    /**
+     * Gets the total time of all phases, in milliseconds
+     */
+    public double getTotalMillis() {
+        long total = 0;
+        for (long nanos : phaseNanos) {
+            total += nanos;
+        }
+        return total / 1e6;
+    }
+
+    /**
+     * Gets the number of times the best schedule improved
+     */
+    public synchronized int getImprovementCount() {
+        return improvements.size() + droppedImprovements;
+    }
+
+    /**
+     * Describes the run for the schedule response
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("tasks", taskCount);
+        map.put("nodes", nodeCount);
+        Map<String, Object> pruned = new LinkedHashMap<>();
+        for (PruneReason reason : PRUNE_REASONS) {
+            pruned.put(reason.name().toLowerCase(), getPrunes(reason));
+        }
+        map.put("prunes", pruned);
+        map.put("maxDepth", getMaxDepth());
+        Map<String, Object> table = new LinkedHashMap<>();
+        table.put("lookups", getTableLookups());
+        table.put("hits", getTableHits());
+        table.put("hitRate", getTableHitRate());
+        map.put("transpositionTable", table);
+        Map<String, Object> phaseMillis = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            phaseMillis.put(phaseKey(phase), getPhaseMillis(phase));
+        }
+        map.put("phaseMillis", phaseMillis);
+        map.put("totalMillis", getTotalMillis());
+        List<Map<String, Object>> points = new ArrayList<>();
+        synchronized (this) {
+            for (long[] point : improvements) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("ms", point[0]);
+                entry.put("weight", point[1]);
+                points.add(entry);
+            }
+            map.put("improvements", points);
+            map.put("droppedImprovements", droppedImprovements);
+        }
+        return map;
+    }
+
+    /**
+     * Camel-case name of a phase, as used in the response and the metric tags
+     */
+    public static String phaseKey(Phase phase) {
+        String[] words = phase.name().toLowerCase().split("_");
+        StringBuilder key = new StringBuilder(words[0]);
+        for (int w = 1; w < words.length; w++) {
+            key.append(Character.toUpperCase(words[w].charAt(0))).append(words[w].substring(1));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,288 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Level-gated, in-memory trace of scheduling runs.
+ *
+ * At SUMMARY level each run keeps its high-level messages (input size, engine, budget,
+ * result). At NODE level the per-task diagnostics are kept as well, and the search
+ * engines record one event per search node into a fixed-size ring buffer of primitive
+ * arrays shared by all runs, overwriting the oldest events once it is full. Nothing is
+ * printed; the last runs are dumped on demand. With tracing OFF a run is a shared no-op
+ * object, and the engines test a final boolean before recording anything.
+ */
+public class SolverTrace {
+
+    /**
+     * How much a run records
+     */
+    public enum Level {
+        OFF, SUMMARY, NODE
+    }
+
+    /**
+     * Kind of a search node event
+     */
+    public enum NodeEvent {
+        // Node was expanded
+        EXPANDED,
+        // Node was cut off by the upper bound
+        PRUNED,
+        // Node improved the best schedule
+        INCUMBENT,
+        // Node was left unexplored because the budget ran out
+        BUDGET
+    }
+
+    private static final NodeEvent[] NODE_EVENTS = NodeEvent.values();
+
+    // Messages kept per run, so a run over a huge task list cannot exhaust memory
+    private static final int MAX_MESSAGES_PER_RUN = 2000;
+
+    private volatile Level level = Level.SUMMARY;
+    private volatile Ring ring;
+    private volatile int maxRuns;
+    private final AtomicLong runIds = new AtomicLong();
+    private final Deque<Run> recentRuns = new ArrayDeque<>();
+
+    /**
+     * @param bufferSize Number of node events kept (rounded up to a power of two)
+     * @param maxRuns Number of recent runs kept
+     */
+    public SolverTrace(int bufferSize, int maxRuns) {
+        this.ring = new Ring(bufferSize);
+        this.maxRuns = Math.max(1, maxRuns);
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * Replaces the node event buffer; events recorded so far are dropped
+     */
+    public void setBufferSize(int bufferSize) {
+        this.ring = new Ring(bufferSize);
+    }
+
+    public int getBufferSize() {
+        return ring.capacity();
+    }
+
+    public synchronized void setMaxRuns(int maxRuns) {
+        this.maxRuns = Math.max(1, maxRuns);
+        while (recentRuns.size() > this.maxRuns) {
+            recentRuns.removeFirst();
+        }
+    }
+
+    public int getMaxRuns() {
+        return maxRuns;
+    }
+
+    /**
+     * Starts tracing a scheduling run at the current level
+     * @param description Short description of the run
+     * @return The run to record into; a no-op run when tracing is off
+     */
+    public Run startRun(String description) {
+        Level current = level;
+        if (current == Level.OFF) {
+            return Run.DISABLED;
+        }
+        Run run = new Run(runIds.incrementAndGet(), current, description, ring);
+        synchronized (this) {
+            recentRuns.addLast(run);
+            while (recentRuns.size() > maxRuns) {
+                recentRuns.removeFirst();
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Dumps the most recent runs, newest first
+     * @param runs Maximum number of runs to return
+     */
+    public List<Map<String, Object>> dump(int runs) {
+        List<Run> selected = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Run> newestFirst = recentRuns.descendingIterator();
+            while (newestFirst.hasNext() && selected.size() < runs) {
+                selected.add(newestFirst.next());
+            }
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Run run : selected) {
+            result.add(run.toMap());
+        }
+        return result;
+    }
+
+    /**
+     * Trace of a single scheduling run
+     */
+    public static final class Run {
+
+        /**
+         * Run handed out while tracing is off; records nothing
+         */
+        public static final Run DISABLED = new Run(0, Level.OFF, "disabled", null);
+
+        private final long id;
+        private final Level level;
+        private final String description;
+        private final LocalDateTime startedAt;
+        private final Ring ring;
+        private final List<String> messages = new ArrayList<>();
+        private int droppedMessages;
+        private final AtomicLong nodeEvents = new AtomicLong();
+
+        private Run(long id, Level level, String description, Ring ring) {
+            this.id = id;
+            this.level = level;
+            this.description = description;
+            this.startedAt = LocalDateTime.now();
+            this.ring = ring;
+        }
+
+        /**
+         * Whether search engines should record node events
+         */
+        public boolean isNodeLevel() {
+            return level == Level.NODE;
+        }
+
+        /**
+         * Records a run-level message (SUMMARY and above)
+         */
+        public void summary(String message) {
+            if (level != Level.OFF) {
+                addMessage(message);
+            }
+        }
+
+        /**
+         * Records a per-task diagnostic (NODE level only); the message is only built when kept
+         */
+        public void detail(Supplier<String> message) {
+            if (level == Level.NODE) {
+                addMessage(message.get());
+            }
+        }
+
+        /**
+         * Records a search node event into the ring buffer (NODE level only)
+         */
+        public void node(NodeEvent event, int depth, int time, int weight, int bound) {
+            if (level == Level.NODE) {
+                nodeEvents.incrementAndGet();
+                ring.add(id, event, depth, time, weight, bound);
+            }
+        }
+
+        private synchronized void addMessage(String message) {
+            if (messages.size() < MAX_MESSAGES_PER_RUN) {
+                messages.add(message);
+            } else {
+                droppedMessages++;
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("runId", id);
+            map.put("description", description);
+            map.put("startedAt", startedAt.toString());
+            map.put("level", level.name());
+            synchronized (this) {
+                map.put("messages", new ArrayList<>(messages));
+                map.put("droppedMessages", droppedMessages);
+            }
+            if (level == Level.NODE) {
+                List<Map<String, Object>> events = ring.eventsOf(id);
+                map.put("nodeEvents", events);
+                map.put("overwrittenNodeEvents", Math.max(0, nodeEvents.get() - events.size()));
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Fixed-size ring of node events stored column-wise in primitive arrays.
+     * Writers claim a slot with one atomic increment; the slot's sequence number is
+     * cleared while it is written and set afterwards, so readers can skip slots that
+     * are being overwritten.
+     */
+    private static final class Ring {
+        private final int mask;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicLongArray sequence;
+        private final long[] runIds;
+        private final byte[] events;
+        private final int[] depths;
+        private final int[] times;
+        private final int[] weights;
+        private final int[] bounds;
+
+        Ring(int requestedSize) {
+            int size = Integer.highestOneBit(Math.max(2, requestedSize) - 1) << 1;
+            this.mask = size - 1;
+            this.sequence = new AtomicLongArray(size);
+            this.runIds = new long[size];
+            this.events = new byte[size];
+            this.depths = new int[size];
+            this.times = new int[size];
+            this.weights = new int[size];
+            this.bounds = new int[size];
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        void add(long runId, NodeEvent event, int depth, int time, int weight, int bound) {
+            long position = cursor.getAndIncrement();
+            int slot = (int) (position & mask);
+            sequence.set(slot, 0);
+            runIds[slot] = runId;
+            events[slot] = (byte) event.ordinal();
+            depths[slot] = depth;
+            times[slot] = time;
+            weights[slot] = weight;
+            bounds[slot] = bound;
+            sequence.set(slot, position + 1);
+        }
+
+        List<Map<String, Object>> eventsOf(long runId) {
+            List<Map<String, Object>> result = new ArrayList<>();
+            long end = cursor.get();
+            for (long position = Math.max(0, end - capacity()); position < end; position++) {
+                int slot = (int) (position & mask);
+                if (sequence.get(slot) != position + 1 || runIds[slot] != runId) {
+                    continue;
+                }
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("event", NODE_EVENTS[events[slot]].name());
+                event.put("depth", depths[slot]);
+                event.put("time", times[slot]);
+                event.put("weight", weights[slot]);
+                event.put("bound", bounds[slot]);
+                // Drop the event if a writer overwrote the slot while it was being read
+                if (sequence.get(slot) == position + 1) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+    }
+}
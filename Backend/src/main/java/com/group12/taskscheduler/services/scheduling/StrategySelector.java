@@ -0,0 +1,227 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.*;
+
+/**
+ * Registry of scheduling strategies and the automatic choice between them.
+ *
+ * By default instances without dependencies or with simple chains that fit the
+ * time-indexed DP table go to that DP; otherwise the choice follows the task count: the
+ * subset DP up to the DP task limit, the include/exclude subset search up to the subset
+ * search task limit, backtracking beyond, and large-neighbourhood search above the
+ * large-instance task limit. Every run is recorded per strategy and per class of
+ * similar instances (task count, dependency density, deadline tightness) as
+ * exponentially weighted averages of the solve time and of how often the budget ran
+ * out; a run that ran out counts several times its time. Measurements override the rule: an exact strategy that is faster on
+ * that class of instances is preferred, and when the default keeps running out of budget
+ * an exact alternative that has not been measured there yet gets tried.
+ */
+public class StrategySelector {
+
+    // Weight of the newest run in the averages
+    private static final double SMOOTHING = 0.3;
+
+    // A run cut short by its budget counts this many times its solve time
+    private static final double BUDGET_PENALTY = 4.0;
+
+    // Runs needed before an average is trusted
+    private static final int MIN_SAMPLES = 3;
+
+    private static final class Estimate {
+        double averageMillis;
+        double exhaustedRate;
+        long samples;
+
+        void record(double millis, boolean exhausted) {
+            double cost = exhausted ? millis * BUDGET_PENALTY : millis;
+            if (samples == 0) {
+                averageMillis = cost;
+                exhaustedRate = exhausted ? 1.0 : 0.0;
+            } else {
+                averageMillis += SMOOTHING * (cost - averageMillis);
+                exhaustedRate += SMOOTHING * ((exhausted ? 1.0 : 0.0) - exhaustedRate);
+            }
+            samples++;
+        }
+
+        boolean isTrusted() {
+            return samples >= MIN_SAMPLES;
+        }
+    }
+
+    private final Map<String, SchedulingStrategy> strategies = new LinkedHashMap<>();
+
+    // Strategy name -> instance class -> measurements
+    private final Map<String, Map<String, Estimate>> estimates = new HashMap<>();
+
+    private int dpTaskLimit;
+    private int subsetSearchTaskLimit;
+    private int largeInstanceTaskLimit;
+
+    /**
+     * @param dpTaskLimit Largest task count for which the subset DP is the default
+     * @param subsetSearchTaskLimit Largest task count for which the subset search is the default
+     * @param largeInstanceTaskLimit Largest task count for which an exact search is the default
+     */
+    public StrategySelector(int dpTaskLimit, int subsetSearchTaskLimit, int largeInstanceTaskLimit) {
+        this.dpTaskLimit = dpTaskLimit;
+        this.subsetSearchTaskLimit = subsetSearchTaskLimit;
+        this.largeInstanceTaskLimit = largeInstanceTaskLimit;
+    }
+
+    /**
+     * Registers a strategy, replacing any strategy with the same name
+     */
+    public synchronized void register(SchedulingStrategy strategy) {
+        strategies.put(strategy.getName(), strategy);
+    }
+
+    /**
+     * Gets the names of the registered strategies, in registration order
+     */
+    public synchronized List<String> getNames() {
+        return new ArrayList<>(strategies.keySet());
+    }
+
+    /**
+     * Gets the registered strategies, in registration order
+     */
+    public synchronized List<SchedulingStrategy> getStrategies() {
+        return new ArrayList<>(strategies.values());
+    }
+
+    /**
+     * Looks up a strategy to pin for a request
+     * @throws IllegalArgumentException If no strategy has that name
+     */
+    public synchronized SchedulingStrategy get(String name) {
+        SchedulingStrategy strategy = strategies.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown scheduling strategy: " + name +
+                ". Available strategies: " + strategies.keySet());
+        }
+        return strategy;
+    }
+
+    public synchronized void setDpTaskLimit(int dpTaskLimit) {
+        this.dpTaskLimit = dpTaskLimit;
+    }
+
+    public synchronized void setSubsetSearchTaskLimit(int subsetSearchTaskLimit) {
+        this.subsetSearchTaskLimit = subsetSearchTaskLimit;
+    }
+
+    public synchronized void setLargeInstanceTaskLimit(int largeInstanceTaskLimit) {
+        this.largeInstanceTaskLimit = largeInstanceTaskLimit;
+    }
+
+    /**
+     * Chooses the strategy for an instance
+     */
+    public synchronized SchedulingStrategy select(InstanceFeatures features) {
+        SchedulingStrategy rule = defaultStrategy(features);
+        String bucket = features.bucket();
+        Estimate ruleEstimate = estimate(rule, bucket);
+        if (ruleEstimate == null || !ruleEstimate.isTrusted()) {
+            return rule;
+        }
+
+        // An exact strategy measured faster on this class of instances
+        SchedulingStrategy best = rule;
+        double bestMillis = ruleEstimate.averageMillis;
+        for (SchedulingStrategy candidate : exactCandidates(features)) {
+            Estimate candidateEstimate = estimate(candidate, bucket);
+            if (candidateEstimate != null && candidateEstimate.isTrusted()
+                    && candidateEstimate.averageMillis < bestMillis) {
+                best = candidate;
+                bestMillis = candidateEstimate.averageMillis;
+            }
+        }
+        if (best != rule || ruleEstimate.exhaustedRate <= 0.5) {
+            return best;
+        }
+
+        // The default keeps running out of budget: measure an alternative
+        for (SchedulingStrategy candidate : exactCandidates(features)) {
+            Estimate candidateEstimate = estimate(candidate, bucket);
+            if (candidate != rule && (candidateEstimate == null || !candidateEstimate.isTrusted())) {
+                return candidate;
+            }
+        }
+        return rule;
+    }
+
+    /**
+     * Records the outcome of a run
+     * @param elapsedMillis Solve time in milliseconds
+     * @param exhausted Whether the run ran out of budget
+     */
+    public synchronized void record(SchedulingStrategy strategy, InstanceFeatures features,
+                                    double elapsedMillis, boolean exhausted) {
+        estimates.computeIfAbsent(strategy.getName(), name -> new HashMap<>())
+            .computeIfAbsent(features.bucket(), bucket -> new Estimate())
+            .record(elapsedMillis, exhausted);
+    }
+
+    /**
+     * Gets the recorded measurements, one entry per strategy and class of instances
+     */
+    public synchronized List<Map<String, Object>> getStatistics() {
+        List<Map<String, Object>> statistics = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Estimate>> byStrategy : estimates.entrySet()) {
+            for (Map.Entry<String, Estimate> byBucket : byStrategy.getValue().entrySet()) {
+                Estimate estimate = byBucket.getValue();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("strategy", byStrategy.getKey());
+                entry.put("instanceClass", byBucket.getKey());
+                entry.put("runs", estimate.samples);
+                entry.put("averageMillis", estimate.averageMillis);
+                entry.put("budgetExhaustedRate", estimate.exhaustedRate);
+                statistics.add(entry);
+            }
+        }
+        return statistics;
+    }
+
+    private SchedulingStrategy defaultStrategy(InstanceFeatures features) {
+        String name;
+        SchedulingStrategy timeIndexed = strategies.get(TimeIndexedDpStrategy.NAME);
+        if (timeIndexed != null && timeIndexed.isApplicable(features)) {
+            name = TimeIndexedDpStrategy.NAME;
+        } else if (features.getTaskCount() <= dpTaskLimit) {
+            name = SubsetDpStrategy.NAME;
+        } else if (features.getTaskCount() <= subsetSearchTaskLimit) {
+            name = SubsetSearchStrategy.NAME;
+        } else if (features.getTaskCount() > largeInstanceTaskLimit) {
+            name = LargeNeighbourhoodSearchStrategy.NAME;
+        } else {
+            name = BranchAndBoundStrategy.NAME;
+        }
+        SchedulingStrategy strategy = strategies.get(name);
+        if (strategy != null && strategy.isApplicable(features)) {
+            return strategy;
+        }
+        List<SchedulingStrategy> candidates = exactCandidates(features);
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No registered strategy can schedule " + features);
+        }
+        return candidates.get(0);
+    }
+
+    private List<SchedulingStrategy> exactCandidates(InstanceFeatures features) {
+        List<SchedulingStrategy> candidates = new ArrayList<>();
+        for (SchedulingStrategy strategy : strategies.values()) {
+            // The portfolio runs the others; it is only used when configured or pinned
+            if (strategy.isExact() && strategy.respectsDeadlines() && strategy.isApplicable(features)
+                    && !PortfolioStrategy.NAME.equals(strategy.getName())) {
+                candidates.add(strategy);
+            }
+        }
+        return candidates;
+    }
+
+    private Estimate estimate(SchedulingStrategy strategy, String bucket) {
+        Map<String, Estimate> byBucket = estimates.get(strategy.getName());
+        return byBucket == null ? null : byBucket.get(bucket);
+    }
+}
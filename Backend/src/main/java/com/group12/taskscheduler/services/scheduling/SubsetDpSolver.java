@@ -0,0 +1,101 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Exact scheduler based on dynamic programming over subsets of tasks.
+ *
+ * On a single timeline the time at which the next task starts is the sum of the
+ * durations of the tasks already scheduled, whatever order they ran in. The search
+ * state is therefore the scheduled subset, not the sequence, and each subset only
+ * has to be expanded once. Runs in O(2^n * n) time and O(2^n) memory.
+ */
+public class SubsetDpSolver {
+
+    // Hard cap on the number of tasks (2^22 states is roughly 40 MB of tables)
+    public static final int MAX_TASKS = 22;
+
+    private static final byte UNREACHABLE = -2;
+    private static final byte ROOT = -1;
+
+    private final CompiledTaskGraph graph;
+    private final int n;
+    private final int[] predMasks;
+
+    /**
+     * @param graph The candidate tasks (already filtered by deadline)
+     */
+    public SubsetDpSolver(CompiledTaskGraph graph) {
+        if (graph.size() > MAX_TASKS) {
+            throw new IllegalArgumentException("Subset DP supports at most " + MAX_TASKS +
+                " tasks, got " + graph.size());
+        }
+        this.graph = graph;
+        this.n = graph.size();
+        this.predMasks = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int e = graph.predStart[i]; e < graph.predStart[i + 1]; e++) {
+                predMasks[i] |= 1 << graph.pred[e];
+            }
+        }
+    }
+
+    /**
+     * Finds a maximum-weight set of tasks that can run back to back without missing
+     * a deadline or violating a dependency
+     * @return Indices of the chosen tasks in a feasible execution order
+     */
+    public int[] solve() {
+        int[] durations = graph.durations;
+        int[] deadlines = graph.deadlines;
+        int[] weights = graph.weights;
+        boolean[] blocked = graph.blocked;
+
+        int stateCount = 1 << n;
+        byte[] lastTask = new byte[stateCount];
+        int[] time = new int[stateCount];
+        int[] weight = new int[stateCount];
+        Arrays.fill(lastTask, UNREACHABLE);
+        lastTask[0] = ROOT;
+
+        int bestMask = 0;
+
+        // Every transition adds one task, so masks are final once the loop reaches them
+        for (int mask = 0; mask < stateCount; mask++) {
+            if (lastTask[mask] == UNREACHABLE) {
+                continue;
+            }
+            if (weight[mask] > weight[bestMask]) {
+                bestMask = mask;
+            }
+
+            int currentTime = time[mask];
+            for (int i = 0; i < n; i++) {
+                int bit = 1 << i;
+                if ((mask & bit) != 0 || blocked[i] || (predMasks[i] & ~mask) != 0) {
+                    continue;
+                }
+                int endTime = currentTime + durations[i];
+                if (endTime > deadlines[i]) {
+                    continue;
+                }
+                int next = mask | bit;
+                if (lastTask[next] == UNREACHABLE) {
+                    lastTask[next] = (byte) i;
+                    time[next] = endTime;
+                    weight[next] = weight[mask] + weights[i];
+                }
+            }
+        }
+
+        // Walk the predecessor links back from the best subset
+        int[] schedule = new int[Integer.bitCount(bestMask)];
+        int position = schedule.length;
+        for (int mask = bestMask; mask != 0; ) {
+            int i = lastTask[mask];
+            schedule[--position] = i;
+            mask ^= 1 << i;
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,32 @@
+package com.group12.taskscheduler.services.scheduling;
+
+/**
+ * Exact dynamic programming over subsets, for small instances
+ */
+public class SubsetDpStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "subset-dp";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return features.getTaskCount() <= SubsetDpSolver.MAX_TASKS;
+    }
+
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        CompiledTaskGraph graph = problem.getGraph();
+        problem.getTrace().summary("Using subset DP engine for " + graph.size() + " tasks");
+        int[] best = new SubsetDpSolver(graph).solve();
+        problem.getIncumbent().offer(graph.totalWeight(best), best);
+    }
+}
@@ -0,0 +1,380 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Exact scheduler that branches on including or excluding each task.
+ *
+ * Whether a fixed set of tasks fits on the timeline does not depend on guessing an
+ * order: tighten every deadline backward through the dependencies inside the set
+ * (a task must finish early enough for its dependents to still make theirs), then
+ * run the tasks by earliest tightened deadline (EDD). The set is feasible exactly
+ * when that order meets every deadline. The search therefore explores 2^n subsets
+ * instead of n! orderings, and each include decision is checked by that oracle.
+ *
+ * Tasks are decided in a topological order that puts the best weight per day first,
+ * so every task's dependencies are already decided when it is reached: it can only
+ * be included if they all were, and excluding a task rules out all its dependents.
+ * Subtrees are pruned with a per-deadline fractional knapsack bound.
+ */
+public class SubsetSearchSolver {
+
+    private final CompiledTaskGraph graph;
+    private final SharedIncumbent<int[]> incumbent;
+    private final SearchBudget budget;
+    private final SolverTrace.Run trace;
+    private final boolean traceNodes;
+    private final SolverStatistics statistics;
+
+    // Branching order and each task's position in it (also the EDD tie-break)
+    private final int[] order;
+    private final int[] rank;
+    private final int[] ratioOrder;
+    private final int[] deadlineLevels;
+
+    // Search state
+    private final boolean[] included;
+    private final boolean[] excluded;
+    private final int[] excludedPredecessors;
+    private final int[] tightDeadlines;
+    private final int[] members;
+    private final long[] eddKeys;
+    private int[] trail;
+    private int[] propagationStack;
+    private int memberCount;
+    private int trailSize;
+    private int weight;
+
+    // Counted here, added to the run's statistics when the search is done
+    private long boundPrunes;
+    private long deadlinePrunes;
+    private long dependencyPrunes;
+    private int maxDepth;
+
+    /**
+     * @param graph The compiled candidate tasks
+     * @param incumbent Best schedule so far (task indices in execution order)
+     * @param budget Time and node budget of the run
+     * @param trace Trace of the run; node events are only recorded at NODE level
+     * @param statistics Counters of the run
+     */
+    public SubsetSearchSolver(CompiledTaskGraph graph, SharedIncumbent<int[]> incumbent, SearchBudget budget,
+                              SolverTrace.Run trace, SolverStatistics statistics) {
+        this.graph = graph;
+        this.incumbent = incumbent;
+        this.budget = budget;
+        this.trace = trace;
+        this.traceNodes = trace.isNodeLevel();
+        this.statistics = statistics;
+
+        int n = graph.n;
+        int[] weights = graph.weights;
+        int[] durations = graph.durations;
+        this.order = prioritizedTopologicalOrder();
+        this.rank = new int[n];
+        Arrays.fill(rank, -1);
+        for (int position = 0; position < order.length; position++) {
+            rank[order[position]] = position;
+        }
+        this.ratioOrder = graph.sortedIndices((a, b) -> Long.compare(
+            (long) weights[b] * Math.max(durations[a], 0),
+            (long) weights[a] * Math.max(durations[b], 0)));
+        this.deadlineLevels = Arrays.stream(graph.deadlines).distinct().sorted().toArray();
+
+        this.included = new boolean[n];
+        this.excluded = new boolean[n];
+        this.excludedPredecessors = new int[n];
+        this.tightDeadlines = new int[n];
+        this.members = new int[n];
+        this.eddKeys = new long[n];
+        // Undo log of tightened deadlines (task, previous value) and the propagation stack;
+        // both grow on demand, a deadline can be tightened several times in one step
+        this.trail = new int[2 * (graph.pred.length + n) + 2];
+        this.propagationStack = new int[graph.pred.length + n + 1];
+    }
+
+    /**
+     * Runs the search on the calling thread
+     */
+    public void solve() {
+        // Tasks that can never become available are excluded up front, with their dependents
+        for (int i = 0; i < graph.n; i++) {
+            if (graph.blocked[i] || rank[i] < 0) {
+                exclude(i);
+            }
+        }
+        search(0);
+        statistics.addPrunes(SolverStatistics.PruneReason.BOUND, boundPrunes);
+        statistics.addPrunes(SolverStatistics.PruneReason.DEADLINE, deadlinePrunes);
+        statistics.addPrunes(SolverStatistics.PruneReason.DEPENDENCY, dependencyPrunes);
+        statistics.reachedDepth(maxDepth);
+    }
+
+    private void search(int position) {
+        // Count this node against the budget
+        boolean withinBudget = budget.consumeNode();
+        if (position > maxDepth) {
+            maxDepth = position;
+        }
+
+        // Prune if no completion of the chosen set can beat the best schedule
+        int bestWeight = incumbent.getBestWeight();
+        int nodeBound = weight + bound(bestWeight - weight);
+        if (nodeBound <= bestWeight) {
+            boundPrunes++;
+            if (traceNodes) {
+                trace.node(SolverTrace.NodeEvent.PRUNED, position, memberCount, weight, nodeBound);
+            }
+            return;
+        }
+
+        // Out of budget: leave the subtree unexplored but remember its bound
+        if (!withinBudget) {
+            budget.recordUnexplored(nodeBound);
+            if (traceNodes) {
+                trace.node(SolverTrace.NodeEvent.BUDGET, position, memberCount, weight, nodeBound);
+            }
+            return;
+        }
+
+        // Skip tasks already ruled out by an excluded dependency
+        while (position < order.length && (excluded[order[position]] || excludedPredecessors[order[position]] > 0)) {
+            position++;
+            dependencyPrunes++;
+        }
+        if (position == order.length) {
+            return;
+        }
+        if (traceNodes) {
+            trace.node(SolverTrace.NodeEvent.EXPANDED, position, memberCount, weight, nodeBound);
+        }
+        int task = order[position];
+
+        // Include branch first: it is the greedy choice and finds good incumbents early
+        int mark = trailSize;
+        if (include(task)) {
+            if (weight > incumbent.getBestWeight() && incumbent.offer(weight, eddSequence()) && traceNodes) {
+                trace.node(SolverTrace.NodeEvent.INCUMBENT, position, memberCount, weight, weight);
+            }
+            search(position + 1);
+        } else {
+            deadlinePrunes++;
+        }
+        removeLast(task, mark);
+
+        // Budget ran out below: the exclude branch is covered by this node's bound
+        if (budget.isExhausted()) {
+            budget.recordUnexplored(nodeBound);
+            return;
+        }
+
+        exclude(task);
+        search(position + 1);
+        unexclude(task);
+    }
+
+    /**
+     * Adds a task to the chosen set and checks the set is still feasible
+     * The caller undoes the step with removeLast, whatever the outcome
+     */
+    private boolean include(int task) {
+        int[] durations = graph.durations;
+        int[] predStart = graph.predStart;
+        int[] pred = graph.pred;
+
+        included[task] = true;
+        members[memberCount++] = task;
+        weight += graph.weights[task];
+        tightDeadlines[task] = graph.deadlines[task];
+
+        // The new task has no dependents in the set yet; tighten its dependencies' deadlines
+        int top = 0;
+        propagationStack[top++] = task;
+        while (top > 0) {
+            int current = propagationStack[--top];
+            int latestFinish = tightDeadlines[current] - durations[current];
+            for (int e = predStart[current]; e < predStart[current + 1]; e++) {
+                int p = pred[e];
+                if (latestFinish < tightDeadlines[p]) {
+                    if (trailSize + 2 > trail.length) {
+                        trail = Arrays.copyOf(trail, trail.length * 2);
+                    }
+                    if (top == propagationStack.length) {
+                        propagationStack = Arrays.copyOf(propagationStack, propagationStack.length * 2);
+                    }
+                    trail[trailSize++] = p;
+                    trail[trailSize++] = tightDeadlines[p];
+                    tightDeadlines[p] = latestFinish;
+                    propagationStack[top++] = p;
+                }
+            }
+        }
+        return isFeasible();
+    }
+
+    private void removeLast(int task, int mark) {
+        while (trailSize > mark) {
+            int previous = trail[--trailSize];
+            tightDeadlines[trail[--trailSize]] = previous;
+        }
+        included[task] = false;
+        memberCount--;
+        weight -= graph.weights[task];
+    }
+
+    /**
+     * EDD feasibility oracle: runs the chosen tasks by tightened deadline (ties in
+     * dependency order) and checks that every one of them finishes in time
+     */
+    private boolean isFeasible() {
+        for (int m = 0; m < memberCount; m++) {
+            int task = members[m];
+            if (tightDeadlines[task] < 0) {
+                return false;
+            }
+            eddKeys[m] = ((long) tightDeadlines[task] << 32) | rank[task];
+        }
+        Arrays.sort(eddKeys, 0, memberCount);
+        long time = 0;
+        for (int m = 0; m < memberCount; m++) {
+            int task = order[(int) eddKeys[m]];
+            time += graph.durations[task];
+            if (time > tightDeadlines[task]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Execution order of the chosen set, valid right after a successful feasibility check
+     */
+    private int[] eddSequence() {
+        int[] sequence = new int[memberCount];
+        for (int m = 0; m < memberCount; m++) {
+            sequence[m] = order[(int) eddKeys[m]];
+        }
+        return sequence;
+    }
+
+    /**
+     * Marks a task as excluded; dependents that lose their last live dependency are ruled out
+     */
+    private void exclude(int task) {
+        excluded[task] = true;
+        markDependents(task);
+    }
+
+    private void unexclude(int task) {
+        excluded[task] = false;
+        unmarkDependents(task);
+    }
+
+    private void markDependents(int task) {
+        for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+            int dependent = graph.succ[e];
+            if (excludedPredecessors[dependent]++ == 0) {
+                markDependents(dependent);
+            }
+        }
+    }
+
+    private void unmarkDependents(int task) {
+        for (int e = graph.succStart[task]; e < graph.succStart[task + 1]; e++) {
+            int dependent = graph.succ[e];
+            if (--excludedPredecessors[dependent] == 0) {
+                unmarkDependents(dependent);
+            }
+        }
+    }
+
+    /**
+     * Upper bound on the weight the undecided tasks can still add.
+     * For every deadline level D, the undecided tasks due by D have to fit into the time
+     * before D that the chosen tasks due by D (tightened deadlines) leave free; tasks due
+     * later are counted in full. Returns the smallest value, stopping at the cutoff.
+     */
+    private int bound(int cutoff) {
+        int[] durations = graph.durations;
+        int[] deadlines = graph.deadlines;
+        int[] weights = graph.weights;
+
+        int best = 0;
+        for (int i : ratioOrder) {
+            if (isCandidate(i)) {
+                best += weights[i];
+            }
+        }
+
+        for (int level : deadlineLevels) {
+            if (best <= cutoff) {
+                break;
+            }
+            long capacity = level;
+            for (int m = 0; m < memberCount; m++) {
+                int task = members[m];
+                if (tightDeadlines[task] <= level) {
+                    capacity -= durations[task];
+                }
+            }
+            if (capacity < 0) {
+                capacity = 0;
+            }
+            double value = 0;
+            for (int i : ratioOrder) {
+                if (!isCandidate(i)) {
+                    continue;
+                }
+                if (deadlines[i] > level) {
+                    value += weights[i];
+                } else if (durations[i] <= capacity) {
+                    value += weights[i];
+                    capacity -= durations[i];
+                } else if (capacity > 0) {
+                    value += (double) weights[i] * capacity / durations[i];
+                    capacity = 0;
+                }
+            }
+            best = Math.min(best, (int) Math.floor(value + 1e-9));
+        }
+        return best;
+    }
+
+    private boolean isCandidate(int task) {
+        return !included[task] && !excluded[task] && excludedPredecessors[task] == 0 && rank[task] >= 0;
+    }
+
+    /**
+     * Topological order that, among the tasks whose dependencies are all placed, always
+     * takes the one with the best weight per day next (zero-duration tasks first)
+     */
+    private int[] prioritizedTopologicalOrder() {
+        int n = graph.n;
+        int[] weights = graph.weights;
+        int[] durations = graph.durations;
+        int[] remaining = graph.inDegree.clone();
+        PriorityQueue<Integer> ready = new PriorityQueue<>((a, b) -> {
+            int byRatio = Long.compare((long) weights[b] * durations[a], (long) weights[a] * durations[b]);
+            return byRatio != 0 ? byRatio : Integer.compare(weights[b], weights[a]);
+        });
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) {
+                ready.add(i);
+            }
+        }
+        int[] result = new int[n];
+        int size = 0;
+        while (!ready.isEmpty()) {
+            int i = ready.poll();
+            result[size++] = i;
+            for (int e = graph.succStart[i]; e < graph.succStart[i + 1]; e++) {
+                if (--remaining[graph.succ[e]] == 0) {
+                    ready.add(graph.succ[e]);
+                }
+            }
+        }
+        // Tasks on a dependency cycle are left out; they can never be scheduled
+        return Arrays.copyOf(result, size);
+    }
+}
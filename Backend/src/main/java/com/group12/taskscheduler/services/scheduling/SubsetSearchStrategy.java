@@ -0,0 +1,34 @@
+package com.group12.taskscheduler.services.scheduling;
+
+/**
+ * Exact include/exclude search with the EDD feasibility oracle, for mid-size instances
+ */
+public class SubsetSearchStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "subset-search";
+
+    // The search recurses once per task, so very large instances would exhaust the stack
+    public static final int MAX_TASKS = 2000;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return features.getTaskCount() <= MAX_TASKS;
+    }
+
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        problem.getTrace().summary("Using include/exclude subset search for " + problem.getGraph().size() + " tasks");
+        new SubsetSearchSolver(problem.getGraph(), problem.getIncumbent(), problem.getBudget(),
+            problem.getTrace(), problem.getStatistics()).solve();
+    }
+}
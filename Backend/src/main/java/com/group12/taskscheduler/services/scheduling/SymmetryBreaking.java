@@ -0,0 +1,165 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Symmetry breaking for interchangeable tasks.
+ *
+ * Tasks with the same duration, flexible deadline and weight, the same dependencies and
+ * the same dependents are interchangeable: swapping two of them in a feasible schedule
+ * gives another feasible schedule of the same weight. A batch of k such tasks otherwise
+ * makes the engines explore up to k! orderings and 2^k subsets of what is really one
+ * decision, how many of them to run. Chaining each class in index order with extra
+ * ordering constraints leaves a single canonical form of every schedule (the first m
+ * members of the class, in order), and every engine searches the chained graph unchanged.
+ */
+public final class SymmetryBreaking {
+
+    private final CompiledTaskGraph graph;
+
+    // Class of each task (-1 for a task without an interchangeable twin) and the class chains
+    private final int[] classOf;
+    private final int[] classHead;
+    private final int[] classNext;
+    private final int interchangeableTasks;
+
+    private SymmetryBreaking(CompiledTaskGraph graph, int[] classOf, int[] classHead, int[] classNext,
+                             int interchangeableTasks) {
+        this.graph = graph;
+        this.classOf = classOf;
+        this.classHead = classHead;
+        this.classNext = classNext;
+        this.interchangeableTasks = interchangeableTasks;
+    }
+
+    /**
+     * Finds the classes of interchangeable tasks and chains each one
+     */
+    public static SymmetryBreaking apply(CompiledTaskGraph graph) {
+        int n = graph.n;
+        Map<Signature, Integer> lastBySignature = new HashMap<>();
+        int[] previous = new int[n];
+        int[] classNext = new int[n];
+        Arrays.fill(previous, -1);
+        Arrays.fill(classNext, -1);
+        int links = 0;
+        for (int i = 0; i < n; i++) {
+            Integer last = lastBySignature.put(new Signature(graph, i), i);
+            if (last != null) {
+                previous[i] = last;
+                classNext[last] = i;
+                links++;
+            }
+        }
+        if (links == 0) {
+            return new SymmetryBreaking(graph, null, new int[0], classNext, 0);
+        }
+
+        // Number the classes by their first member and collect the chain constraints
+        int[] classOf = new int[n];
+        Arrays.fill(classOf, -1);
+        int[] heads = new int[n];
+        int classCount = 0;
+        int members = 0;
+        int[] dependency = new int[links];
+        int[] dependent = new int[links];
+        int link = 0;
+        for (int i = 0; i < n; i++) {
+            if (previous[i] >= 0) {
+                classOf[i] = classOf[previous[i]];
+                dependency[link] = previous[i];
+                dependent[link++] = i;
+                members++;
+            } else if (classNext[i] >= 0) {
+                classOf[i] = classCount;
+                heads[classCount++] = i;
+                members++;
+            }
+        }
+        return new SymmetryBreaking(graph.withExtraDependencies(dependency, dependent), classOf,
+            Arrays.copyOf(heads, classCount), classNext, members);
+    }
+
+    /**
+     * Gets the graph to search: the same tasks, with every class chained in index order
+     */
+    public CompiledTaskGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the number of classes with more than one task
+     */
+    public int getClassCount() {
+        return classHead.length;
+    }
+
+    /**
+     * Gets the number of tasks that belong to such a class
+     */
+    public int getInterchangeableTaskCount() {
+        return interchangeableTasks;
+    }
+
+    /**
+     * Relabels a feasible schedule of the unchained graph into its canonical form, which
+     * is feasible in the chained graph: the k-th member of a class to run becomes the
+     * class's k-th task
+     * @param sequence Task indices in execution order
+     */
+    public int[] canonicalize(int[] sequence) {
+        if (classOf == null) {
+            return sequence;
+        }
+        int[] cursor = classHead.clone();
+        int[] result = new int[sequence.length];
+        for (int position = 0; position < sequence.length; position++) {
+            int task = sequence[position];
+            int c = classOf[task];
+            if (c < 0) {
+                result[position] = task;
+            } else {
+                result[position] = cursor[c];
+                cursor[c] = classNext[cursor[c]];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Everything an engine sees of a task, apart from its index
+     */
+    private static final class Signature {
+        private final int[] values;
+        private final int hash;
+
+        Signature(CompiledTaskGraph graph, int task) {
+            int predCount = graph.predStart[task + 1] - graph.predStart[task];
+            int succCount = graph.succStart[task + 1] - graph.succStart[task];
+            int[] values = new int[5 + predCount + succCount];
+            values[0] = graph.durations[task];
+            values[1] = graph.deadlines[task];
+            values[2] = graph.weights[task];
+            values[3] = graph.blocked[task] ? 1 : 0;
+            values[4] = predCount;
+            System.arraycopy(graph.pred, graph.predStart[task], values, 5, predCount);
+            System.arraycopy(graph.succ, graph.succStart[task], values, 5 + predCount, succCount);
+            Arrays.sort(values, 5, 5 + predCount);
+            Arrays.sort(values, 5 + predCount, values.length);
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Signature && Arrays.equals(values, ((Signature) other).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Exact pseudo-polynomial scheduler for tasks without dependencies or in simple chains.
+ *
+ * Without dependencies, a set of tasks fits on the timeline exactly when running it by
+ * earliest deadline (EDD) meets every deadline, so the best set is a knapsack over the
+ * tasks in EDD order: the state is the time used so far (Lawler and Moore), one row of
+ * primitive ints per task. Chains (each task has at most one dependency and at most one
+ * dependent) keep that property when deadlines never decrease along a chain, because
+ * EDD with ties in chain order then respects the dependencies; a task may only be taken
+ * if its chain predecessor was, so the state also carries one bit per chain that is open
+ * at that point of the EDD order. The table has n * 2^k * (D + 1) cells for k chains
+ * open at once and a horizon of D days. General dependencies, and chains whose
+ * deadlines decrease, are strongly NP-hard and left to the other engines.
+ */
+public class TimeIndexedDpSolver {
+
+    // Largest table the solver is used for (two decision bits per cell, 8 MB at the limit)
+    public static final long MAX_CELLS = 1L << 25;
+
+    // Table cells that count as one search node against the budget
+    private static final int CELLS_PER_NODE = 4096;
+
+    private static final int UNREACHABLE = -1;
+
+    private final CompiledTaskGraph graph;
+    private final int[] order;
+    // Bit of the task's chain in the state, 0 for a task on its own
+    private final int[] chainBit;
+    private final boolean[] hasPredecessor;
+    private final boolean[] closesChain;
+    private final int openChains;
+    private final int horizon;
+
+    private TimeIndexedDpSolver(CompiledTaskGraph graph, int[] order, int[] chainBit, boolean[] hasPredecessor,
+                                boolean[] closesChain, int openChains, int horizon) {
+        this.graph = graph;
+        this.order = order;
+        this.chainBit = chainBit;
+        this.hasPredecessor = hasPredecessor;
+        this.closesChain = closesChain;
+        this.openChains = openChains;
+        this.horizon = horizon;
+    }
+
+    /**
+     * Prepares the solver for a graph
+     * @return The solver, or null if the dependencies are not chains with non-decreasing deadlines
+     */
+    public static TimeIndexedDpSolver of(CompiledTaskGraph graph) {
+        int n = graph.n;
+        for (int i = 0; i < n; i++) {
+            if (graph.predStart[i + 1] - graph.predStart[i] > 1 || graph.succStart[i + 1] - graph.succStart[i] > 1) {
+                return null;
+            }
+        }
+
+        // Walk every chain from its head; a task never reached lies on a cycle
+        int[] chain = new int[n];
+        int[] position = new int[n];
+        int[] chainLength = new int[n];
+        Arrays.fill(chain, -1);
+        for (int head = 0; head < n; head++) {
+            if (graph.predStart[head + 1] != graph.predStart[head]) {
+                continue;
+            }
+            int length = 0;
+            for (int task = head; ; task = graph.succ[graph.succStart[task]]) {
+                chain[task] = head;
+                position[task] = length++;
+                if (graph.succStart[task + 1] == graph.succStart[task]) {
+                    break;
+                }
+                int dependent = graph.succ[graph.succStart[task]];
+                if (graph.deadlines[dependent] < graph.deadlines[task]) {
+                    return null;
+                }
+            }
+            chainLength[head] = length;
+        }
+        // Nothing can run past the latest deadline or the total duration
+        long totalDuration = 0;
+        int latestDeadline = 0;
+        for (int i = 0; i < n; i++) {
+            if (chain[i] < 0) {
+                return null;
+            }
+            totalDuration += Math.max(0, graph.durations[i]);
+            latestDeadline = Math.max(latestDeadline, graph.deadlines[i]);
+        }
+        long horizon = Math.min(totalDuration, latestDeadline);
+
+        // EDD order, ties by chain and then along it, so that every chain runs in order
+        int[] order = graph.sortedIndices((a, b) -> graph.deadlines[a] != graph.deadlines[b]
+            ? Integer.compare(graph.deadlines[a], graph.deadlines[b])
+            : chain[a] != chain[b] ? Integer.compare(chain[a], chain[b]) : Integer.compare(position[a], position[b]));
+
+        // Give every chain of two or more tasks a state bit while it is open
+        int[] chainBit = new int[n];
+        boolean[] hasPredecessor = new boolean[n];
+        boolean[] closesChain = new boolean[n];
+        int[] freeBits = new int[Integer.SIZE];
+        int freeCount = 0;
+        int openChains = 0;
+        int[] bitOfChain = new int[n];
+        for (int task : order) {
+            int length = chainLength[chain[task]];
+            if (length < 2) {
+                continue;
+            }
+            if (position[task] == 0) {
+                if (freeCount == 0) {
+                    if (openChains == Integer.SIZE - 2) {
+                        return null;
+                    }
+                    freeBits[freeCount++] = 1 << openChains++;
+                }
+                bitOfChain[chain[task]] = freeBits[--freeCount];
+            }
+            chainBit[task] = bitOfChain[chain[task]];
+            hasPredecessor[task] = position[task] > 0;
+            if (position[task] == length - 1) {
+                closesChain[task] = true;
+                freeBits[freeCount++] = bitOfChain[chain[task]];
+            }
+        }
+        return new TimeIndexedDpSolver(graph, order, chainBit, hasPredecessor, closesChain, openChains,
+            (int) horizon);
+    }
+
+    /**
+     * Solves the instance made of some tasks of a graph, their dependencies on other tasks
+     * counted as met
+     * @param members Indices of the tasks in the graph
+     * @return Indices in the graph of the chosen tasks in execution order, or null if the
+     *         members' dependencies are not simple chains or the table would be too large
+     */
+    public static int[] solveSubset(CompiledTaskGraph graph, int[] members, SearchBudget budget) {
+        int[] deadlines = new int[members.length];
+        int[] weights = new int[members.length];
+        for (int k = 0; k < members.length; k++) {
+            deadlines[k] = graph.deadlines[members[k]];
+            weights[k] = graph.weights[members[k]];
+        }
+        TimeIndexedDpSolver solver = of(graph.subproblem(members, task -> true, deadlines, weights));
+        if (solver == null || solver.cells() > MAX_CELLS) {
+            return null;
+        }
+        int[] chosen = solver.solve(budget);
+        for (int c = 0; c < chosen.length; c++) {
+            chosen[c] = members[chosen[c]];
+        }
+        return chosen;
+    }
+
+    /**
+     * Number of cells of the DP table, which bounds the time and memory of a run
+     */
+    public long cells() {
+        if (openChains > 30) {
+            return Long.MAX_VALUE;
+        }
+        long layer = (1L << openChains) * (horizon + 1L);
+        return layer > Long.MAX_VALUE / Math.max(1, order.length) ? Long.MAX_VALUE : layer * order.length;
+    }
+
+    /**
+     * Finds a maximum-weight set of tasks that meets every deadline and dependency
+     * If the budget runs out, the best set among the tasks decided so far is returned and
+     * its weight plus that of the undecided tasks is recorded as the unexplored bound.
+     * @return Indices of the chosen tasks in a feasible execution order
+     */
+    public int[] solve(SearchBudget budget) {
+        if (cells() > MAX_CELLS) {
+            throw new IllegalStateException("Time-indexed DP table of " + cells() + " cells exceeds " + MAX_CELLS);
+        }
+        int[] durations = graph.durations;
+        int[] deadlines = graph.deadlines;
+        int[] weights = graph.weights;
+        int n = order.length;
+        int width = horizon + 1;
+        int layerSize = (1 << openChains) * width;
+        long nodesPerLayer = Math.max(1, layerSize / CELLS_PER_NODE);
+
+        int[] current = new int[layerSize];
+        int[] next = new int[layerSize];
+        Arrays.fill(current, UNREACHABLE);
+        current[0] = 0;
+        // Per task and cell: whether the task was taken, and the chain bit before it
+        long[] decisions = new long[(int) ((2L * n * layerSize + 63) / 64)];
+
+        int decided = 0;
+        while (decided < n) {
+            boolean withinBudget = true;
+            for (long node = 0; node < nodesPerLayer && withinBudget; node++) {
+                withinBudget = budget.consumeNode();
+            }
+            if (!withinBudget) {
+                break;
+            }
+            int task = order[decided];
+            int bit = chainBit[task];
+            boolean takeable = !graph.blocked[task];
+            int duration = durations[task];
+            int latestStart = Math.min(horizon, deadlines[task]) - duration;
+            long layerOffset = 2L * decided * layerSize;
+            Arrays.fill(next, UNREACHABLE);
+
+            for (int mask = 0; mask < 1 << openChains; mask++) {
+                int from = mask * width;
+                int skipTo = (mask & ~bit) * width;
+                int takeTo = (closesChain[task] ? mask & ~bit : mask | bit) * width;
+                int previousBit = (mask & bit) != 0 ? 1 : 0;
+                boolean canTake = takeable && (!hasPredecessor[task] || previousBit == 1);
+                for (int t = 0; t <= horizon; t++) {
+                    int value = current[from + t];
+                    if (value == UNREACHABLE) {
+                        continue;
+                    }
+                    if (value > next[skipTo + t]) {
+                        next[skipTo + t] = value;
+                        record(decisions, layerOffset + 2L * (skipTo + t), 0, previousBit);
+                    }
+                    if (canTake && t <= latestStart && value + weights[task] > next[takeTo + t + duration]) {
+                        next[takeTo + t + duration] = value + weights[task];
+                        record(decisions, layerOffset + 2L * (takeTo + t + duration), 1, previousBit);
+                    }
+                }
+            }
+            int[] swap = current;
+            current = next;
+            next = swap;
+            decided++;
+        }
+
+        // Best cell of the last decided layer, and the bound if tasks were left undecided
+        int bestCell = 0;
+        for (int cell = 0; cell < layerSize; cell++) {
+            if (current[cell] > current[bestCell]) {
+                bestCell = cell;
+            }
+        }
+        if (decided < n) {
+            long remaining = 0;
+            for (int d = decided; d < n; d++) {
+                remaining += graph.blocked[order[d]] ? 0 : weights[order[d]];
+            }
+            budget.recordUnexplored((int) Math.min(Integer.MAX_VALUE, current[bestCell] + remaining));
+        }
+
+        // Walk the decisions back from the best cell
+        int[] chosen = new int[decided];
+        int count = 0;
+        int mask = bestCell / width;
+        int t = bestCell % width;
+        for (int d = decided - 1; d >= 0; d--) {
+            int task = order[d];
+            long position = 2L * d * layerSize + 2L * (mask * width + t);
+            boolean taken = bit(decisions, position);
+            boolean previousBit = bit(decisions, position + 1);
+            if (taken) {
+                chosen[count++] = task;
+                t -= durations[task];
+            }
+            mask = (mask & ~chainBit[task]) | (previousBit ? chainBit[task] : 0);
+        }
+        int[] schedule = new int[count];
+        for (int c = 0; c < count; c++) {
+            schedule[c] = chosen[count - 1 - c];
+        }
+        return schedule;
+    }
+
+    private static void record(long[] decisions, long position, int taken, int previousBit) {
+        int word = (int) (position >>> 6);
+        int shift = (int) (position & 63);
+        decisions[word] = (decisions[word] & ~(3L << shift)) | ((long) (taken | previousBit << 1) << shift);
+    }
+
+    private static boolean bit(long[] decisions, long position) {
+        return (decisions[(int) (position >>> 6)] >>> (position & 63) & 1L) != 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.group12.taskscheduler.services.scheduling;
+
+/**
+ * Exact time-indexed DP for instances without dependencies or with chains whose
+ * deadlines never decrease; pseudo-polynomial in the latest deadline
+ */
+public class TimeIndexedDpStrategy implements SchedulingStrategy {
+
+    public static final String NAME = "time-indexed-dp";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isApplicable(InstanceFeatures features) {
+        return features.getTimeIndexedCells() >= 0 && features.getTimeIndexedCells() <= TimeIndexedDpSolver.MAX_CELLS;
+    }
+
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public void solve(SchedulingProblem problem) {
+        CompiledTaskGraph graph = problem.getGraph();
+        TimeIndexedDpSolver solver = TimeIndexedDpSolver.of(graph);
+        problem.getTrace().summary("Using time-indexed DP for " + graph.size() + " tasks (" + solver.cells() +
+            " table cells)");
+        int[] best = solver.solve(problem.getBudget());
+        problem.getIncumbent().offer(graph.totalWeight(best), best);
+    }
+}
@@ -0,0 +1,171 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded memo of backtracking states, shared by the workers of a search.
+ *
+ * A state is the set of scheduled tasks, identified by a 64-bit Zobrist hash: the XOR of
+ * a random key per scheduled task, updated in one step when a task is added or removed.
+ * Every order of the same set ends at the same time with the same weight, so it has the
+ * same subtree; an entry holds an upper bound on the weight that subtree can still add.
+ * Entries sit in buckets of two slots. The first keeps the shallowest state, which
+ * stands for the largest subtree, unless it is older than the current run; the second
+ * always takes the newest entry. A slot stores its key XORed with its data, so that a
+ * slot torn by two workers writing at once reads as a miss rather than a wrong bound.
+ * The arrays are sized by the memory cap, allocated on first use and reused by later
+ * runs: each run draws its own keys and age, so older entries never match and are the
+ * first replaced. Two different sets sharing a hash would be mistaken for each other;
+ * with 64-bit keys that is far less likely than the search running out of time.
+ */
+public class TranspositionTable {
+
+    // Bytes per slot: the key and the packed data
+    private static final int SLOT_BYTES = 16;
+
+    // Largest number of slots, the limit of a Java array
+    private static final int MAX_SLOTS = 1 << 30;
+
+    /**
+     * Returned by a probe when the state is not in the table
+     */
+    public static final int NO_ENTRY = Integer.MIN_VALUE;
+
+    private static final int MAX_DEPTH = 0xFFFF;
+    private static final int AGE_MASK = 0xFFFF;
+
+    private final long maxBytes;
+    private final int slotCount;
+    private final AtomicLong runs = new AtomicLong();
+    private volatile long[] keys;
+    private volatile long[] data;
+
+    /**
+     * @param maxBytes Memory the table may use; too little for one bucket disables it
+     */
+    public TranspositionTable(long maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+        long slots = this.maxBytes / SLOT_BYTES;
+        this.slotCount = slots < 2 ? 0 : (int) Math.min(MAX_SLOTS, Long.highestOneBit(slots));
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Gets the number of states the table can hold
+     */
+    public int getCapacity() {
+        return slotCount;
+    }
+
+    /**
+     * Starts using the table for a search, allocating it on first use
+     * @param taskCount Number of tasks of the searched graph
+     * @return The table as seen by the run, or null if the table is disabled
+     */
+    public Run startRun(int taskCount) {
+        if (slotCount == 0) {
+            return null;
+        }
+        if (keys == null) {
+            synchronized (this) {
+                if (keys == null) {
+                    data = new long[slotCount];
+                    keys = new long[slotCount];
+                }
+            }
+        }
+        long run = runs.incrementAndGet();
+        return new Run(keys, data, (int) (run & AGE_MASK), new SplittableRandom(run * 0x9E3779B97F4A7C15L), taskCount);
+    }
+
+    /**
+     * The table during one search: the run's task keys and age
+     */
+    public static final class Run {
+        private final long[] keys;
+        private final long[] data;
+        private final int mask;
+        private final int age;
+        private final long[] taskKeys;
+        private final long emptyHash;
+
+        private Run(long[] keys, long[] data, int age, SplittableRandom random, int taskCount) {
+            this.keys = keys;
+            this.data = data;
+            this.mask = keys.length - 1;
+            this.age = age;
+            this.taskKeys = new long[taskCount];
+            for (int i = 0; i < taskCount; i++) {
+                taskKeys[i] = random.nextLong();
+            }
+            // A random start, so that the empty set does not hash to the zero of an unused slot
+            this.emptyHash = random.nextLong();
+        }
+
+        /**
+         * Hash of the empty set, the start of every search
+         */
+        public long emptyHash() {
+            return emptyHash;
+        }
+
+        /**
+         * Key of each task, XORed into the hash when the task is scheduled or unscheduled
+         */
+        public long[] taskKeys() {
+            return taskKeys;
+        }
+
+        /**
+         * Looks a state up
+         * @return Upper bound on the weight the state's subtree can still add, or NO_ENTRY
+         */
+        public int probe(long hash) {
+            int bucket = (int) hash & mask & ~1;
+            for (int slot = bucket; slot <= bucket + 1; slot++) {
+                long entry = data[slot];
+                if ((keys[slot] ^ entry) == hash && age(entry) == age) {
+                    return (int) entry;
+                }
+            }
+            return NO_ENTRY;
+        }
+
+        /**
+         * Records a bound on the weight a state's subtree can still add
+         * @param depth Number of tasks in the state
+         */
+        public void store(long hash, int depth, int bound) {
+            int bucket = (int) hash & mask & ~1;
+            long first = data[bucket];
+            long second = data[bucket + 1];
+            int slot;
+            if ((keys[bucket] ^ first) == hash && age(first) == age) {
+                slot = bucket;
+                bound = Math.min(bound, (int) first);
+            } else if ((keys[bucket + 1] ^ second) == hash && age(second) == age) {
+                slot = bucket + 1;
+                bound = Math.min(bound, (int) second);
+            } else if (age(first) != age || depth <= depth(first)) {
+                slot = bucket;
+            } else {
+                slot = bucket + 1;
+            }
+            long entry = (bound & 0xFFFFFFFFL) | (long) Math.min(depth, MAX_DEPTH) << 32 | (long) age << 48;
+            data[slot] = entry;
+            keys[slot] = hash ^ entry;
+        }
+
+        private static int depth(long entry) {
+            return (int) (entry >>> 32) & MAX_DEPTH;
+        }
+
+        private static int age(long entry) {
+            return (int) (entry >>> 48) & AGE_MASK;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.group12.taskscheduler.services.scheduling;
+
+import com.group12.taskscheduler.models.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the last schedule found so the next solve can start from it.
+ *
+ * Every task edit bumps the dataset version and remembers which task changed. The next
+ * solve replays the previous execution order against the current tasks: tasks that no
+ * longer exist, no longer fit or lost a dependency are dropped, and the changed tasks
+ * are then inserted wherever they fit. The repaired sequence is feasible, so the search
+ * can use it as its initial incumbent and prune tightly from the first node.
+ */
+public class WarmStartStore {
+
+    private static final class Snapshot {
+        final long[] taskIds;
+        final long version;
+
+        Snapshot(long[] taskIds, long version) {
+            this.taskIds = taskIds;
+            this.version = version;
+        }
+    }
+
+    private final AtomicLong version = new AtomicLong();
+
+    // Changed task id -> dataset version of its latest change
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+
+    private volatile Snapshot last;
+
+    /**
+     * Records that a task was created, updated or deleted
+     */
+    public void taskChanged(Long taskId) {
+        long changeVersion = version.incrementAndGet();
+        if (taskId != null) {
+            changedAt.put(taskId, changeVersion);
+        }
+    }
+
+    /**
+     * Gets the current dataset version; read it before a solve and pass it to record
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Stores the execution order of a finished solve
+     * @param schedule Tasks in a feasible execution order
+     * @param solvedVersion Dataset version the solve started from
+     */
+    public void record(List<Task> schedule, long solvedVersion) {
+        long[] ids = schedule.stream().mapToLong(Task::getId).toArray();
+        last = new Snapshot(ids, solvedVersion);
+        // Changes made while the solve ran stay pending for the next one
+        changedAt.values().removeIf(changeVersion -> changeVersion <= solvedVersion);
+    }
+
+    /**
+     * Gets the dataset version of the stored schedule, -1 if none is stored
+     */
+    public long storedVersion() {
+        Snapshot snapshot = last;
+        return snapshot == null ? -1 : snapshot.version;
+    }
+
+    /**
+     * Forgets the stored schedule
+     */
+    public void clear() {
+        last = null;
+    }
+
+    /**
+     * Repairs the stored schedule for the current tasks
+     * @param graph The compiled candidate tasks of the current solve
+     * @return A feasible execution order (task indices), empty if nothing is stored
+     */
+    public int[] seed(CompiledTaskGraph graph) {
+        Snapshot snapshot = last;
+        if (snapshot == null) {
+            return new int[0];
+        }
+
+        // Replay the previous order, keeping every task that still fits
+        boolean[] kept = new boolean[graph.n];
+        List<Integer> sequence = new ArrayList<>();
+        int time = 0;
+        for (long id : snapshot.taskIds) {
+            int task = graph.indexOf(id);
+            if (task < 0 || kept[task] || !canRunAfter(graph, task, kept, time)) {
+                continue;
+            }
+            kept[task] = true;
+            sequence.add(task);
+            time += graph.durations[task];
+        }
+
+        // Insert the tasks changed since that solve at the first position that still works
+        for (Long id : changedAt.keySet()) {
+            int task = graph.indexOf(id);
+            if (task < 0 || kept[task] || graph.blocked[task]) {
+                continue;
+            }
+            for (int position = sequence.size(); position >= 0; position--) {
+                sequence.add(position, task);
+                if (isFeasible(graph, sequence)) {
+                    kept[task] = true;
+                    break;
+                }
+                sequence.remove(position);
+            }
+        }
+
+        int[] result = new int[sequence.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = sequence.get(i);
+        }
+        return result;
+    }
+
+    private static boolean canRunAfter(CompiledTaskGraph graph, int task, boolean[] done, int time) {
+        if (graph.blocked[task] || time + graph.durations[task] > graph.deadlines[task]) {
+            return false;
+        }
+        for (int e = graph.predStart[task]; e < graph.predStart[task + 1]; e++) {
+            if (!done[graph.pred[e]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFeasible(CompiledTaskGraph graph, List<Integer> sequence) {
+        boolean[] done = new boolean[graph.n];
+        int time = 0;
+        for (int task : sequence) {
+            if (!canRunAfter(graph, task, done, time)) {
+                return false;
+            }
+            done[task] = true;
+            time += graph.durations[task];
+        }
+        return true;
+    }
+}
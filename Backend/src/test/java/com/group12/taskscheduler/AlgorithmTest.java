@@ -4,6 +4,7 @@ import com.group12.taskscheduler.models.Task;
 import com.group12.taskscheduler.repositories.TaskRepository;
 import com.group12.taskscheduler.services.SchedulerService;
 import com.group12.taskscheduler.services.impl.TaskServiceImpl;
+import com.group12.taskscheduler.services.scheduling.SolverOptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -47,6 +48,11 @@ public class AlgorithmTest {
             List<Task> tasks = invocation.getArgument(0);
             return schedulerService.scheduleTasks(tasks);
         });
+        when(schedulerServiceMock.scheduleTasks(any(), any())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            SolverOptions options = invocation.getArgument(1);
+            return schedulerService.scheduleTasks(tasks, options);
+        });
         
         // Forward isTestMode calls to our real instance
         when(schedulerServiceMock.isTestMode()).thenReturn(true);
@@ -100,7 +106,7 @@ public class AlgorithmTest {
         simpleTasks.add(task4);
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(simpleTasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(simpleTasks);
 
         // Call the scheduling algorithm
         Map<String, Object> result = taskService.generateSchedule();
@@ -169,7 +175,7 @@ public class AlgorithmTest {
         List<Task> sampleTasks = createSampleTasks();
 
         // Set up mock repository to return our sample tasks
-        when(taskRepository.findAll()).thenReturn(sampleTasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(sampleTasks);
 
         // We're already using the real scheduler service with test mode from the setup method
         
@@ -493,7 +499,7 @@ public class AlgorithmTest {
         // tasks.forEach(Task::parseDependencies);
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         // Call the scheduling algorithm
         Map<String, Object> result = taskService.generateSchedule();
@@ -600,7 +606,7 @@ public class AlgorithmTest {
         // tasks.forEach(Task::parseDependencies);
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         // Call the scheduling algorithm
         Map<String, Object> result = taskService.generateSchedule();
@@ -702,7 +708,7 @@ public class AlgorithmTest {
         // tasks.forEach(Task::parseDependencies);
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         // Call the scheduling algorithm
         Map<String, Object> result = taskService.generateSchedule();
@@ -773,7 +779,7 @@ public class AlgorithmTest {
         tasks.add(task4);
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         // Call the scheduling algorithm
         Map<String, Object> result = taskService.generateSchedule();
@@ -852,7 +858,7 @@ public class AlgorithmTest {
         tasks.add(task5);
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         // Call the scheduling algorithm
         Map<String, Object> result = taskService.generateSchedule();
@@ -969,7 +975,7 @@ public class AlgorithmTest {
         tasks.add(task2);
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         // Call the scheduling algorithm
         Map<String, Object> result = taskService.generateSchedule();
@@ -1035,7 +1041,7 @@ public class AlgorithmTest {
         tasks.add(task4);
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         // Call the scheduling algorithm
         Map<String, Object> result = taskService.generateSchedule();
@@ -1163,7 +1169,7 @@ public class AlgorithmTest {
         tasks.add(task3);
         tasks.add(task4);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1226,7 +1232,7 @@ public class AlgorithmTest {
         tasks.add(task4);
         tasks.add(task5);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1285,7 +1291,7 @@ public class AlgorithmTest {
         tasks.add(task3);
         tasks.add(task4);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1359,7 +1365,7 @@ public class AlgorithmTest {
         tasks.add(taskE);
         tasks.add(taskF);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1400,7 +1406,7 @@ public class AlgorithmTest {
             tasks.add(task);
         }
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1494,7 +1500,7 @@ public class AlgorithmTest {
         tasks.add(task3);
         tasks.add(task4);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1555,7 +1561,7 @@ public class AlgorithmTest {
         tasks.add(task4);
         tasks.add(task5);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1610,7 +1616,7 @@ public class AlgorithmTest {
         tasks.add(task3);
         tasks.add(task4);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1665,7 +1671,7 @@ public class AlgorithmTest {
         tasks.add(task3);
         tasks.add(task4);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1725,7 +1731,7 @@ public class AlgorithmTest {
         tasks.add(task4);
         tasks.add(task5);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(tasks);
 
         Map<String, Object> result = taskService.generateSchedule();
         List<Long> schedule = (List<Long>) result.get("schedule");
@@ -1760,7 +1766,7 @@ public class AlgorithmTest {
         List<Task> sampleTasks = createSampleTasks();
 
         // Set up mock repository to return our sample tasks
-        when(taskRepository.findAll()).thenReturn(sampleTasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(sampleTasks);
         
         // Use the non-test mode scheduler to generate a schedule
         List<Task> scheduledTasks = regularScheduler.scheduleTasks(sampleTasks);
@@ -1874,7 +1880,7 @@ public class AlgorithmTest {
         List<Task> realisticTasks = createRealisticTasks();
 
         // Set up mock repository
-        when(taskRepository.findAll()).thenReturn(realisticTasks);
+        when(taskRepository.findAllWithDependencies()).thenReturn(realisticTasks);
         
         // Use regular scheduler to generate schedule
         List<Task> scheduledTasks = regularScheduler.scheduleTasks(realisticTasks);
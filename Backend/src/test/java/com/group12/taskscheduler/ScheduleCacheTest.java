@@ -0,0 +1,52 @@
+package com.group12.taskscheduler;
+
+import com.group12.taskscheduler.services.ScheduleCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleCacheTest {
+
+    @Test
+    public void testHitsMissesAndLeastRecentlyUsedEviction() {
+        ScheduleCache cache = new ScheduleCache(2, 0);
+        cache.put("a", Map.of("totalWeight", 1));
+        cache.put("b", Map.of("totalWeight", 2));
+
+        // Touch "a" so that "b" is the least recently used entry
+        assertEquals(1, cache.get("a").get("totalWeight"));
+        cache.put("c", Map.of("totalWeight", 3));
+
+        assertNull(cache.get("b"), "Least recently used entry should be evicted");
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1L, cache.getStatistics().get("evictions"));
+    }
+
+    @Test
+    public void testInvalidateAllAndCopies() {
+        ScheduleCache cache = new ScheduleCache(4, 0);
+        cache.put("a", Map.of("totalWeight", 1));
+
+        // Callers get a copy, so changing it does not change the cached schedule
+        cache.get("a").put("totalWeight", 99);
+        assertEquals(1, cache.get("a").get("totalWeight"));
+
+        cache.invalidateAll();
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getStatistics().get("size"));
+    }
+
+    @Test
+    public void testExpiredEntriesAreNotServed() throws InterruptedException {
+        ScheduleCache cache = new ScheduleCache(4, 1);
+        cache.put("a", Map.of("totalWeight", 1));
+        Thread.sleep(5);
+
+        assertNull(cache.get("a"), "Entries older than the maximum age should expire");
+    }
+}
@@ -0,0 +1,591 @@
+package com.group12.taskscheduler;
+
+import com.group12.taskscheduler.models.Task;
+import com.group12.taskscheduler.services.SchedulerService;
+import com.group12.taskscheduler.services.scheduling.CompiledTaskGraph;
+import com.group12.taskscheduler.services.scheduling.ConstraintPropagation;
+import com.group12.taskscheduler.services.scheduling.DependencyCycles;
+import com.group12.taskscheduler.services.scheduling.ScheduleResult;
+import com.group12.taskscheduler.services.scheduling.SchedulingContext;
+import com.group12.taskscheduler.services.scheduling.SolverOptions;
+import com.group12.taskscheduler.services.scheduling.SolverStatistics;
+import com.group12.taskscheduler.services.scheduling.SymmetryBreaking;
+import com.group12.taskscheduler.services.scheduling.TranspositionTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cross-checks the scheduling engines against a brute-force reference on small
+ * random task sets (deadlines set in whole days through the override)
+ */
+public class SchedulerEnginesTest {
+
+    private SchedulerService schedulerService;
+
+    @BeforeEach
+    public void setup() {
+        schedulerService = new SchedulerService();
+        schedulerService.setTestMode(false);
+        schedulerService.setDeadlineFlexibility(0.0);
+        schedulerService.setHighPriorityExtraFlexibility(0.0);
+    }
+
+    private List<Task> createRandomTasks(long seed, int count) {
+        Random random = new Random(seed);
+        List<Task> tasks = new ArrayList<>();
+        int[] earliestEnd = new int[count + 1];
+        for (int i = 1; i <= count; i++) {
+            int duration = 1 + random.nextInt(4);
+            Task task = new Task("Task " + i, 1 + random.nextInt(10), LocalDate.now(), duration);
+            task.setId((long) i);
+            // Only depend on lower ids so the graph stays acyclic
+            int earliestStart = 0;
+            for (int dep = 1; dep < i; dep++) {
+                if (random.nextInt(count) == 0) {
+                    task.addDependency((long) dep);
+                    earliestStart = Math.max(earliestStart, earliestEnd[dep]);
+                }
+            }
+            earliestEnd[i] = earliestStart + duration;
+            // Every task fits on its own, so conflicts only come from sharing the timeline
+            task.setDeadlineOverride((earliestEnd[i] + random.nextInt(2 * count)) * 24);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Tries every ordering of the tasks and returns the best total weight
+     */
+    private int bruteForceBestWeight(List<Task> tasks) {
+        return bruteForce(tasks, new HashSet<>(), 0, 0);
+    }
+
+    private int bruteForce(List<Task> tasks, Set<Long> scheduled, int currentTime, int currentWeight) {
+        int best = currentWeight;
+        for (Task task : tasks) {
+            if (scheduled.contains(task.getId()) || !scheduled.containsAll(task.getDependenciesSet())) {
+                continue;
+            }
+            int endTime = currentTime + task.getEstimatedDuration();
+            if (endTime > task.getDeadlineAsInt()) {
+                continue;
+            }
+            scheduled.add(task.getId());
+            best = Math.max(best, bruteForce(tasks, scheduled, endTime, currentWeight + task.getWeight()));
+            scheduled.remove(task.getId());
+        }
+        return best;
+    }
+
+    private int totalWeight(List<Task> schedule) {
+        return schedule.stream().mapToInt(Task::getWeight).sum();
+    }
+
+    @Test
+    public void testSubsetDpMatchesBruteForce() {
+        for (long seed = 1; seed <= 20; seed++) {
+            List<Task> tasks = createRandomTasks(seed, 7);
+            int expected = bruteForceBestWeight(tasks);
+
+            List<Task> schedule = schedulerService.scheduleTasks(tasks);
+
+            assertEquals(expected, totalWeight(schedule), "Subset DP should be optimal for seed " + seed);
+        }
+    }
+
+    @Test
+    public void testSubsetSearchMatchesBruteForce() {
+        schedulerService.setDpTaskLimit(0);
+        for (long seed = 1; seed <= 30; seed++) {
+            List<Task> tasks = createRandomTasks(seed, 8);
+            int expected = bruteForceBestWeight(tasks);
+            // Chain-shaped instances would go to the time-indexed DP
+            SolverOptions options = new SolverOptions();
+            options.setStrategy("subset-search");
+
+            ScheduleResult result = schedulerService.scheduleTasks(tasks, options);
+
+            assertEquals("subset-search", result.getEngine());
+            assertEquals(expected, result.getTotalWeight(), "Subset search should be optimal for seed " + seed);
+            assertTrue(result.isOptimal());
+        }
+    }
+
+    @Test
+    public void testBranchAndBoundMatchesBruteForce() {
+        schedulerService.setDpTaskLimit(0);
+        schedulerService.setSubsetSearchTaskLimit(0);
+        for (long seed = 1; seed <= 20; seed++) {
+            List<Task> tasks = createRandomTasks(seed, 7);
+            int expected = bruteForceBestWeight(tasks);
+
+            List<Task> schedule = schedulerService.scheduleTasks(tasks);
+
+            assertEquals(expected, totalWeight(schedule), "Branch and bound should be optimal for seed " + seed);
+        }
+    }
+
+    @Test
+    public void testParallelBranchAndBoundMatchesBruteForce() {
+        schedulerService.setDpTaskLimit(0);
+        schedulerService.setSubsetSearchTaskLimit(0);
+        schedulerService.setParallelism(4);
+        try {
+            for (long seed = 1; seed <= 20; seed++) {
+                List<Task> tasks = createRandomTasks(seed, 8);
+                int expected = bruteForceBestWeight(tasks);
+
+                List<Task> schedule = schedulerService.scheduleTasks(tasks);
+
+                assertEquals(expected, totalWeight(schedule), "Parallel search should be optimal for seed " + seed);
+            }
+        } finally {
+            schedulerService.shutdown();
+        }
+    }
+
+    @Test
+    public void testNodeBudgetReportsProvenUpperBound() {
+        schedulerService.setDpTaskLimit(0);
+        for (int subsetSearchLimit : new int[] {0, 150}) {
+            schedulerService.setSubsetSearchTaskLimit(subsetSearchLimit);
+            for (long seed = 1; seed <= 10; seed++) {
+                List<Task> tasks = createRandomTasks(seed, 9);
+                int expected = bruteForceBestWeight(tasks);
+
+                ScheduleResult result = schedulerService.scheduleTasks(tasks, new SolverOptions(0, 5));
+
+                assertTrue(result.getNodeCount() <= 5, "Search should stop at the node limit");
+                assertTrue(result.getTotalWeight() <= expected, "Budgeted schedule cannot beat the optimum");
+                assertTrue(result.getUpperBound() >= expected,
+                    "Upper bound must not cut off the optimum for seed " + seed + " (" + result.getEngine() + ")");
+                assertEquals(result.getTotalWeight() == result.getUpperBound(), result.getGap() == 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testReferenceDateFixesDeadlines() {
+        LocalDate referenceDate = LocalDate.of(2020, 1, 1);
+        Task first = new Task("First", 5, referenceDate.plusDays(2), 2);
+        first.setId(1L);
+        Task second = new Task("Second", 3, referenceDate.plusDays(4), 2);
+        second.setId(2L);
+        second.addDependency(1L);
+        Task late = new Task("Late", 9, referenceDate.plusDays(3), 2);
+        late.setId(3L);
+
+        SolverOptions options = new SolverOptions();
+        options.setReferenceDate(referenceDate);
+        ScheduleResult result = schedulerService.scheduleTasks(List.of(first, second, late), options);
+
+        // Counted from the reference date, "Late" only fits alone; counted from today all are overdue
+        assertEquals(9, result.getTotalWeight());
+        assertTrue(schedulerService.scheduleTasks(List.of(first, second, late)).isEmpty());
+    }
+
+    @Test
+    public void testTraceLevels() {
+        schedulerService.setDpTaskLimit(0);
+        List<Task> tasks = createRandomTasks(3, 8);
+
+        schedulerService.setTraceLevel("node");
+        schedulerService.setTraceBufferSize(16);
+        schedulerService.scheduleTasks(tasks);
+        List<Map<String, Object>> runs = schedulerService.getTrace().dump(5);
+        assertEquals(1, runs.size());
+        List<?> events = (List<?>) runs.get(0).get("nodeEvents");
+        assertFalse(events.isEmpty(), "NODE level should record search events");
+        assertTrue(events.size() <= 16, "Ring buffer should keep at most its capacity");
+        assertFalse(((List<?>) runs.get(0).get("messages")).isEmpty());
+
+        schedulerService.setTraceLevel("OFF");
+        schedulerService.scheduleTasks(tasks);
+        assertEquals(1, schedulerService.getTrace().dump(5).size(), "OFF should not record runs");
+    }
+
+    @Test
+    public void testWarmStartAfterTaskEdit() {
+        schedulerService.setDpTaskLimit(0);
+        List<Task> tasks = createRandomTasks(11, 30);
+        schedulerService.scheduleTasks(tasks);
+
+        // Edit one task and re-solve, with and without the previous schedule as a seed
+        Task edited = tasks.get(7);
+        edited.setWeight(edited.getWeight() % 10 + 1);
+        schedulerService.onTaskChanged(edited.getId());
+
+        SolverOptions cold = new SolverOptions();
+        cold.setWarmStart(false);
+        ScheduleResult coldResult = schedulerService.scheduleTasks(tasks, cold);
+        schedulerService.onTaskChanged(edited.getId());
+        ScheduleResult warmResult = schedulerService.scheduleTasks(tasks, new SolverOptions());
+
+        assertTrue(coldResult.isOptimal() && warmResult.isOptimal());
+        assertEquals(coldResult.getTotalWeight(), warmResult.getTotalWeight());
+        assertTrue(warmResult.getNodeCount() <= coldResult.getNodeCount(),
+            "Warm start should not need more nodes than a cold solve");
+    }
+
+    @Test
+    public void testDependencyCyclesReportsComponentsAndMinimalBreaks() {
+        // 1 -> 2 -> 3 -> 1 plus the chord 1 -> 3, a self-loop on 4, and 5 outside any cycle
+        List<Task> tasks = createRandomTasks(5, 5);
+        tasks.forEach(task -> task.getDependenciesSet().clear());
+        tasks.get(1).addDependency(1L);
+        tasks.get(2).addDependency(2L);
+        tasks.get(2).addDependency(1L);
+        tasks.get(0).addDependency(3L);
+        tasks.get(3).addDependency(4L);
+        tasks.get(4).addDependency(3L);
+
+        SchedulingContext context = new SchedulingContext(tasks, LocalDate.now(), (task, deadline) -> deadline);
+        DependencyCycles cycles = DependencyCycles.analyze(CompiledTaskGraph.compile(tasks, context));
+
+        assertTrue(cycles.hasCycles());
+        Set<Set<Long>> components = new HashSet<>();
+        cycles.getComponents().forEach(component -> components.add(new HashSet<>(component)));
+        assertEquals(Set.of(Set.of(1L, 2L, 3L), Set.of(4L)), components);
+
+        // Dropping the proposed dependencies removes every cycle, and each one is needed
+        assertEquals(2, cycles.getEdgesToBreak().size());
+        for (long[] edge : cycles.getEdgesToBreak()) {
+            tasks.get((int) edge[0] - 1).removeDependency(edge[1]);
+        }
+        DependencyCycles after = DependencyCycles.analyze(CompiledTaskGraph.compile(tasks,
+            new SchedulingContext(tasks, LocalDate.now(), (task, deadline) -> deadline)));
+        assertFalse(after.hasCycles());
+
+        // Outside test mode a cyclic task set is rejected
+        tasks.get(3).addDependency(4L);
+        assertThrows(RuntimeException.class, () -> schedulerService.scheduleTasks(tasks));
+    }
+
+    @Test
+    public void testPropagationDropsTasksThatCanNeverFit() {
+        // Task 4 depends on 2 (after 1) and on 3: its longest chain fits by day 7, but 3 is due
+        // on day 1 and pushes 1 past the latest finish that 2 leaves it. 5 falls with 4, and
+        // 7 -> 1 is implied by 7 -> 6 -> 1
+        int[][] spec = {
+            // weight, duration (days), deadline (days)
+            {1, 2, 10}, {1, 2, 4}, {1, 1, 1}, {10, 1, 7}, {10, 1, 20}, {1, 1, 20}, {1, 1, 20}
+        };
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < spec.length; i++) {
+            Task task = new Task("Task " + (i + 1), spec[i][0], LocalDate.now(), spec[i][1]);
+            task.setId((long) i + 1);
+            task.setDeadlineOverride(spec[i][2] * 24);
+            tasks.add(task);
+        }
+        tasks.get(1).addDependency(1L);
+        tasks.get(3).addDependency(2L);
+        tasks.get(3).addDependency(3L);
+        tasks.get(4).addDependency(4L);
+        tasks.get(5).addDependency(1L);
+        tasks.get(6).addDependency(1L);
+        tasks.get(6).addDependency(6L);
+
+        SchedulingContext context = new SchedulingContext(tasks, LocalDate.now(), (task, deadline) -> deadline);
+        ConstraintPropagation propagation = ConstraintPropagation.propagate(CompiledTaskGraph.compile(tasks, context));
+
+        assertEquals(List.of(4L, 5L), propagation.getRemovedTasks().stream().map(Task::getId).toList());
+        assertEquals(5, propagation.getReducedGraph().size());
+        assertEquals(1, propagation.getRedundantDependencyCount());
+
+        // The reduced instance still has the same optimum
+        List<Task> schedule = schedulerService.scheduleTasks(tasks);
+        assertEquals(bruteForceBestWeight(tasks), totalWeight(schedule));
+        assertTrue(schedule.stream().noneMatch(task -> task.getId() == 4L || task.getId() == 5L));
+    }
+
+    @Test
+    public void testInterchangeableTasksAreSearchedOnce() {
+        // A setup task, twelve identical reviews that depend on it and six identical doc tasks:
+        // without symmetry breaking backtracking walks every ordering of each batch
+        List<Task> tasks = new ArrayList<>();
+        Task setup = new Task("Setup", 3, LocalDate.now(), 2);
+        setup.setId(1L);
+        setup.setDeadlineOverride(10 * 24);
+        tasks.add(setup);
+        for (long id = 2; id <= 19; id++) {
+            boolean review = id <= 13;
+            Task task = new Task(review ? "Review PR" : "Docs", review ? 2 : 3, LocalDate.now(), 1);
+            task.setId(id);
+            task.setDeadlineOverride((review ? 10 : 7) * 24);
+            if (review) {
+                task.addDependency(1L);
+            }
+            tasks.add(task);
+        }
+
+        SchedulingContext context = new SchedulingContext(tasks, LocalDate.now(), (task, deadline) -> deadline);
+        SymmetryBreaking symmetry = SymmetryBreaking.apply(CompiledTaskGraph.compile(tasks, context));
+        assertEquals(2, symmetry.getClassCount());
+        assertEquals(18, symmetry.getInterchangeableTaskCount());
+        // Any two reviews relabel to the first two, in order
+        assertArrayEquals(new int[] {0, 1, 2}, symmetry.canonicalize(new int[] {0, 9, 4}));
+
+        // Best: setup, six docs by day 7, then two reviews by day 10 (18 + 4 + 3)
+        schedulerService.setDpTaskLimit(0);
+        schedulerService.setSubsetSearchTaskLimit(0);
+        ScheduleResult result = schedulerService.scheduleTasks(tasks, new SolverOptions(0, 50_000));
+        assertEquals("backtracking", result.getEngine());
+        assertTrue(result.isOptimal(), "The search should finish well within the node limit");
+        assertEquals(25, result.getTotalWeight());
+    }
+
+    @Test
+    public void testPinnedStrategies() {
+        for (long seed = 1; seed <= 15; seed++) {
+            List<Task> tasks = createRandomTasks(seed, 8);
+            int expected = bruteForceBestWeight(tasks);
+
+            // Pinned runs are measured too, so only the first choice is the task-count rule
+            ScheduleResult automatic = schedulerService.scheduleTasks(tasks, new SolverOptions());
+            if (seed == 1) {
+                assertEquals("subset-dp", automatic.getEngine());
+            }
+            assertEquals(expected, automatic.getTotalWeight());
+
+            for (String name : new String[] {"subset-search", "backtracking"}) {
+                SolverOptions options = new SolverOptions();
+                options.setStrategy(name);
+                ScheduleResult result = schedulerService.scheduleTasks(tasks, options);
+                assertEquals(name, result.getEngine());
+                assertEquals(expected, result.getTotalWeight(), name + " should be optimal for seed " + seed);
+            }
+
+            SolverOptions greedy = new SolverOptions();
+            greedy.setStrategy("greedy");
+            ScheduleResult result = schedulerService.scheduleTasks(tasks, greedy);
+            assertEquals("greedy", result.getEngine());
+            assertTrue(result.getTotalWeight() <= expected, "Greedy cannot beat the optimum");
+            assertTrue(result.getUpperBound() >= expected, "Greedy upper bound must not cut off the optimum");
+            assertEquals(totalWeight(result.getSchedule()), result.getTotalWeight());
+        }
+
+        SolverOptions unknown = new SolverOptions();
+        unknown.setStrategy("simulated-annealing");
+        assertThrows(IllegalArgumentException.class,
+            () -> schedulerService.scheduleTasks(createRandomTasks(1, 5), unknown));
+        assertTrue(schedulerService.getStrategyNames().contains("dependency-order"));
+    }
+
+    @Test
+    public void testPortfolioMatchesBruteForce() {
+        schedulerService.setPortfolioEnabled(true);
+        try {
+            for (long seed = 1; seed <= 20; seed++) {
+                List<Task> tasks = createRandomTasks(seed, 8);
+                int expected = bruteForceBestWeight(tasks);
+
+                ScheduleResult result = schedulerService.scheduleTasks(tasks, new SolverOptions());
+                assertEquals("portfolio", result.getEngine());
+                assertEquals(expected, result.getTotalWeight(), "Portfolio should be optimal for seed " + seed);
+                assertTrue(result.isOptimal());
+
+                ScheduleResult budgeted = schedulerService.scheduleTasks(tasks, new SolverOptions(0, 3));
+                assertTrue(budgeted.getTotalWeight() <= expected, "Budgeted portfolio cannot beat the optimum");
+                assertTrue(budgeted.getUpperBound() >= expected,
+                    "Portfolio upper bound must not cut off the optimum for seed " + seed);
+            }
+        } finally {
+            schedulerService.shutdown();
+        }
+    }
+
+    @Test
+    public void testLargeNeighbourhoodSearchImprovesGreedy() {
+        for (long seed = 1; seed <= 15; seed++) {
+            List<Task> tasks = createRandomTasks(seed, 8);
+            int expected = bruteForceBestWeight(tasks);
+            SolverOptions options = new SolverOptions();
+            options.setStrategy("lns");
+
+            ScheduleResult result = schedulerService.scheduleTasks(tasks, options);
+
+            assertEquals("lns", result.getEngine());
+            assertEquals(expected, result.getTotalWeight(), "A window covers the whole schedule for seed " + seed);
+        }
+
+        // Larger instance: at least as good as greedy, and reproducible for a seed
+        List<Task> tasks = createRandomTasks(7, 300);
+        SolverOptions greedy = new SolverOptions();
+        greedy.setStrategy("greedy");
+        int greedyWeight = schedulerService.scheduleTasks(tasks, greedy).getTotalWeight();
+        SolverOptions options = new SolverOptions(0, 2000);
+        options.setStrategy("lns");
+        options.setSeed(42);
+        options.setWarmStart(false);
+
+        ScheduleResult first = schedulerService.scheduleTasks(tasks, options);
+        ScheduleResult second = schedulerService.scheduleTasks(tasks, options);
+
+        assertTrue(first.getTotalWeight() >= greedyWeight, "Search must not lose weight");
+        assertTrue(first.getTotalWeight() <= first.getUpperBound());
+        assertEquals(first.getSchedule().stream().map(Task::getId).toList(),
+            second.getSchedule().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    public void testBeamSearchStaysFeasible() {
+        schedulerService.setParallelism(4);
+        try {
+            for (int width : new int[] {1, 4, 256}) {
+                schedulerService.setBeamWidth(width);
+                for (long seed = 1; seed <= 15; seed++) {
+                    List<Task> tasks = createRandomTasks(seed, 8);
+                    int expected = bruteForceBestWeight(tasks);
+                    SolverOptions options = new SolverOptions();
+                    options.setStrategy("beam");
+
+                    ScheduleResult result = schedulerService.scheduleTasks(tasks, options);
+
+                    assertEquals("beam", result.getEngine());
+                    assertTrue(result.getTotalWeight() <= expected, "Beam search cannot beat the optimum");
+                    assertTrue(result.getUpperBound() >= expected);
+                    if (width == 256) {
+                        // Without dependencies due order loses nothing, and the beam holds every task set
+                        tasks.forEach(task -> task.setDependenciesSet(new HashSet<>()));
+                        result = schedulerService.scheduleTasks(tasks, options);
+                        assertEquals(bruteForceBestWeight(tasks), result.getTotalWeight(),
+                            "A wide beam should be optimal for seed " + seed);
+                    }
+                }
+            }
+        } finally {
+            schedulerService.shutdown();
+        }
+    }
+
+    @Test
+    public void testSolverStatistics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        schedulerService.setMeterRegistry(registry);
+        for (String strategy : new String[] {"backtracking", "subset-search"}) {
+            List<Task> tasks = createRandomTasks(3, 8);
+            SolverOptions options = new SolverOptions();
+            options.setStrategy(strategy);
+            options.setWarmStart(false);
+
+            ScheduleResult result = schedulerService.scheduleTasks(tasks, options);
+            SolverStatistics statistics = result.getStatistics();
+
+            assertEquals(8, statistics.getTaskCount());
+            assertEquals(result.getNodeCount(), statistics.getNodeCount());
+            assertTrue(statistics.getPrunes(SolverStatistics.PruneReason.BOUND) > 0, strategy);
+            assertTrue(statistics.getMaxDepth() >= result.getSchedule().size(), strategy);
+            assertTrue(statistics.getPhaseMillis(SolverStatistics.Phase.SEARCH) > 0, strategy);
+            // The last improvement is the schedule returned
+            List<Map<String, Object>> improvements = (List<Map<String, Object>>) statistics.toMap().get("improvements");
+            assertEquals((long) result.getTotalWeight(), improvements.get(improvements.size() - 1).get("weight"));
+            assertEquals(1, registry.get("scheduler.run.duration").tag("engine", strategy).timer().count());
+        }
+        // Backtracking tries tasks in every order, so it also meets unmet dependencies and deadlines
+        assertTrue(registry.get("scheduler.prunes").tag("engine", "backtracking").tag("reason", "deadline")
+            .counter().count() > 0);
+    }
+
+    @Test
+    public void testTranspositionTableKeepsBacktrackingExact() {
+        long hits = 0;
+        for (long seed = 1; seed <= 20; seed++) {
+            List<Task> tasks = createRandomTasks(seed, 8);
+            int expected = bruteForceBestWeight(tasks);
+            SolverOptions options = new SolverOptions();
+            options.setStrategy("backtracking");
+            options.setWarmStart(false);
+
+            for (int megabytes : new int[] {0, 16}) {
+                schedulerService.setTranspositionTableMegabytes(megabytes);
+                ScheduleResult result = schedulerService.scheduleTasks(tasks, options);
+                SolverStatistics statistics = result.getStatistics();
+
+                assertEquals(expected, result.getTotalWeight(), megabytes + " MB table, seed " + seed);
+                assertTrue(result.isOptimal());
+                if (megabytes == 0) {
+                    assertEquals(0, statistics.getTableLookups());
+                } else {
+                    assertTrue(statistics.getTableLookups() > 0);
+                    hits += statistics.getTableHits();
+                }
+            }
+        }
+        // Different orders of the same tasks are searched once
+        assertTrue(hits > 0);
+        assertEquals(16, schedulerService.getTranspositionTableMegabytes());
+    }
+
+    @Test
+    public void testTranspositionTableReplacement() {
+        // One bucket: the shallowest state stays, the newest takes the other slot
+        TranspositionTable table = new TranspositionTable(32);
+        assertEquals(2, table.getCapacity());
+        TranspositionTable.Run run = table.startRun(3);
+        run.store(2, 1, 10);
+        run.store(4, 3, 20);
+        run.store(6, 2, 30);
+        assertEquals(10, run.probe(2));
+        assertEquals(TranspositionTable.NO_ENTRY, run.probe(4));
+        assertEquals(30, run.probe(6));
+        // A state stored again keeps the tighter bound
+        run.store(6, 2, 40);
+        assertEquals(30, run.probe(6));
+
+        // Entries of an earlier run never match and are replaced first
+        TranspositionTable.Run next = table.startRun(3);
+        assertEquals(TranspositionTable.NO_ENTRY, next.probe(2));
+        next.store(8, 5, 50);
+        assertEquals(50, next.probe(8));
+        assertEquals(TranspositionTable.NO_ENTRY, run.probe(2));
+        assertEquals(0, new TranspositionTable(16).getCapacity());
+    }
+
+    @Test
+    public void testTimeIndexedDpMatchesBruteForce() {
+        for (long seed = 1; seed <= 20; seed++) {
+            // Dependency-free: the default engine is the time-indexed DP
+            List<Task> independent = createRandomTasks(seed, 8);
+            independent.forEach(task -> task.setDependenciesSet(new HashSet<>()));
+            ScheduleResult result = schedulerService.scheduleTasks(independent, new SolverOptions());
+            assertEquals("time-indexed-dp", result.getEngine());
+            assertEquals(bruteForceBestWeight(independent), result.getTotalWeight(), "Independent, seed " + seed);
+            assertTrue(result.isOptimal());
+
+            // Two interleaved chains (odd and even ids) whose deadlines never decrease
+            List<Task> chains = createRandomTasks(seed, 8);
+            for (int i = 0; i < chains.size(); i++) {
+                Task task = chains.get(i);
+                task.setDependenciesSet(new HashSet<>());
+                if (i >= 2) {
+                    Task dependency = chains.get(i - 2);
+                    task.addDependency(dependency.getId());
+                    task.setDeadlineOverride(Math.max(task.getDeadlineAsInt(), dependency.getDeadlineAsInt()) * 24);
+                }
+            }
+            SolverOptions options = new SolverOptions();
+            options.setStrategy("time-indexed-dp");
+            result = schedulerService.scheduleTasks(chains, options);
+            assertEquals(bruteForceBestWeight(chains), result.getTotalWeight(), "Chains, seed " + seed);
+        }
+
+        // A chain whose deadline decreases is not handled
+        Task first = new Task("First", 5, LocalDate.now(), 1);
+        first.setId(1L);
+        first.setDeadlineOverride(10 * 24);
+        Task second = new Task("Second", 5, LocalDate.now(), 1);
+        second.setId(2L);
+        second.setDeadlineOverride(5 * 24);
+        second.addDependency(1L);
+        ScheduleResult result = schedulerService.scheduleTasks(List.of(first, second), new SolverOptions());
+        assertNotEquals("time-indexed-dp", result.getEngine());
+        assertEquals(10, result.getTotalWeight());
+    }
+}
@@ -0,0 +1,233 @@
+package com.group12.taskscheduler;
+
+import com.group12.taskscheduler.models.Task;
+import com.group12.taskscheduler.models.TaskImportRow;
+import com.group12.taskscheduler.repositories.TaskRepository;
+import com.group12.taskscheduler.repositories.TaskSpecifications;
+import com.group12.taskscheduler.services.SchedulerService;
+import com.group12.taskscheduler.services.impl.TaskServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the number of SQL statements the task queries issue, through Hibernate's statistics
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class TaskRepositoryTest {
+
+    private static final int TASK_COUNT = 150;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        Task previous = null;
+        for (int i = 1; i <= TASK_COUNT; i++) {
+            Task task = new Task("Task " + i, 1 + i % 10, LocalDate.now().plusDays(i % 30), 1 + i % 4);
+            if (previous != null) {
+                task.addDependency(previous.getId());
+            }
+            previous = taskRepository.save(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Reads every task's dependencies, as the scheduler and the task list do
+    private int countDependencies(List<Task> tasks) {
+        return tasks.stream().mapToInt(task -> task.getDependenciesSet().size()).sum();
+    }
+
+    @Test
+    public void testGraphLoadsInOneQuery() {
+        List<Task> tasks = taskRepository.findAllWithDependencies();
+
+        assertEquals(TASK_COUNT, tasks.size());
+        assertEquals(TASK_COUNT - 1, countDependencies(tasks));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testLazyDependenciesLoadInBatches() {
+        List<Task> tasks = taskRepository.findAll();
+
+        assertEquals(TASK_COUNT - 1, countDependencies(tasks));
+        // One query for the tasks, then one per batch of 100 dependency sets
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testSearchFiltersInTheDatabase() {
+        LocalDate from = LocalDate.now().plusDays(5);
+        LocalDate to = LocalDate.now().plusDays(20);
+        List<Task> expected = taskRepository.findAll().stream()
+            .filter(task -> task.getName().contains("Task 1") && task.getWeight() == 3)
+            .filter(task -> !task.getDueDate().isBefore(from) && !task.getDueDate().isAfter(to))
+            .sorted(Comparator.comparing(Task::getDueDate).reversed().thenComparing(Task::getId))
+            .toList();
+        assertFalse(expected.isEmpty());
+        entityManager.clear();
+        statistics.clear();
+
+        // Case-insensitive name, one page of two, newest due date first
+        Page<Task> page = taskRepository.findAll(TaskSpecifications.matching("tASK 1", 3, from, to),
+            PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by("id"))));
+
+        assertEquals(expected.size(), page.getTotalElements());
+        assertEquals(expected.subList(0, Math.min(2, expected.size())).stream().map(Task::getId).toList(),
+            page.getContent().stream().map(Task::getId).toList());
+        // The page and its count, nothing read into memory to filter
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(page.getNumberOfElements(), statistics.getEntityLoadCount());
+
+        // Wildcards in the name are matched literally
+        assertEquals(0, taskRepository.count(TaskSpecifications.nameContains("task_1")));
+        assertEquals(TASK_COUNT, taskRepository.count(TaskSpecifications.matching(null, null, null, null)));
+    }
+
+    @Test
+    public void testDeleteUsesReverseLookup() {
+        Task first = taskRepository.findAll(Sort.by("id")).get(0);
+        Task second = taskRepository.findById(first.getId() + 1).orElseThrow();
+        Task merge = new Task("Merge", 5, LocalDate.now().plusDays(40), 1);
+        merge.setDependenciesSet(Set.of(first.getId(), second.getId()));
+        merge.setDependenciesStr(first.getId() + ", " + second.getId());
+        merge = taskRepository.save(merge);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        new TaskServiceImpl(taskRepository, new SchedulerService()).deleteTask(first.getId());
+        entityManager.flush();
+
+        // Dependents found through the index, updated and unlinked in bulk: no task read but the deleted one
+        assertTrue(statistics.getPrepareStatementCount() <= 6, "Statements: " + statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+        entityManager.clear();
+        assertFalse(taskRepository.existsById(first.getId()));
+        Task reloaded = taskRepository.findById(merge.getId()).orElseThrow();
+        assertEquals(Set.of(second.getId()), reloaded.getDependenciesSet());
+        assertEquals(String.valueOf(second.getId()), reloaded.getDependenciesStr());
+        assertTrue(taskRepository.findById(second.getId()).orElseThrow().getDependenciesSet().isEmpty());
+        assertEquals(TASK_COUNT, taskRepository.count());
+    }
+
+    private TaskImportRow importRow(String ref, String name, int weight, String... dependencies) {
+        TaskImportRow row = new TaskImportRow();
+        row.setRef(ref);
+        row.setName(name);
+        row.setWeight(weight);
+        row.setDueDate(LocalDate.now().plusDays(10));
+        row.setEstimatedDuration(1);
+        row.setDependencies(new ArrayList<>(List.of(dependencies)));
+        return row;
+    }
+
+    @Test
+    public void testBulkImportBatchesInserts() {
+        // Each row depends on the next one (forward references) and the first also on an existing task
+        int count = 2000;
+        Long existing = taskRepository.findAll(Sort.by("id")).get(0).getId();
+        List<TaskImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(i + 1 < count ? importRow("r" + i, "Imported " + i, 1 + i % 10, "r" + (i + 1))
+                : importRow("r" + i, "Imported " + i, 1 + i % 10));
+        }
+        rows.get(0).setDependenciesStr(String.valueOf(existing));
+        TaskServiceImpl service = new TaskServiceImpl(taskRepository, new SchedulerService());
+        service.setTransactionManager(transactionManager);
+        service.setImportChunkSize(500);
+        statistics.clear();
+
+        Map<String, Object> result = service.importTasks(rows);
+
+        assertEquals(count, result.get("imported"));
+        assertEquals(4, result.get("chunks"));
+        // Inserts go out 50 rows per statement, for the tasks and for their dependencies
+        assertEquals(count, statistics.getEntityInsertCount());
+        assertEquals(count, countDependencyRows());
+        assertTrue(statistics.getPrepareStatementCount() < count / 10,
+            "Statements: " + statistics.getPrepareStatementCount());
+        List<Long> ids = (List<Long>) result.get("ids");
+        entityManager.clear();
+        Task first = taskRepository.findById(ids.get(0)).orElseThrow();
+        assertEquals(Set.of(existing, ids.get(1)), first.getDependenciesSet());
+        assertEquals("Imported 0", first.getName());
+        assertTrue(taskRepository.findById(ids.get(count - 1)).orElseThrow().getDependenciesSet().isEmpty());
+        assertEquals(TASK_COUNT + count, taskRepository.count());
+    }
+
+    private long countDependencyRows() {
+        return ((Number) entityManager.createNativeQuery(
+            "select count(*) from task_dependencies t join tasks d on d.id = t.task_id where d.name like 'Imported %'")
+            .getSingleResult()).longValue();
+    }
+
+    @Test
+    public void testBulkImportValidatesTheWholeBatch() {
+        TaskServiceImpl service = new TaskServiceImpl(taskRepository, new SchedulerService());
+        List<TaskImportRow> rows = List.of(
+            importRow("a", "A", 5, "b"),
+            importRow("b", "B", 5, "a"),
+            importRow("c", "C", 11, "999999"),
+            importRow("c", "", 5, "missing"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> service.importTasks(rows));
+
+        assertTrue(error.getMessage().contains("duplicate ref 'c'"), error.getMessage());
+        assertTrue(error.getMessage().contains("weight must be between 1 and 10"), error.getMessage());
+        assertTrue(error.getMessage().contains("dependency 999999 is not an existing task"), error.getMessage());
+        assertTrue(error.getMessage().contains("'missing' is neither a ref"), error.getMessage());
+        assertTrue(error.getMessage().contains("Rows [0, 1] depend on each other in a cycle"), error.getMessage());
+        assertEquals(TASK_COUNT, taskRepository.count());
+    }
+
+    @Test
+    public void testStreamedExportReadsOneCursor() {
+        List<Task> expected = taskRepository.findAllWithDependencies().stream()
+            .sorted(Comparator.comparing(Task::getId)).toList();
+        entityManager.clear();
+        statistics.clear();
+        TaskServiceImpl service = new TaskServiceImpl(taskRepository, new SchedulerService());
+        List<Long> ids = new ArrayList<>();
+        List<Set<Long>> dependencies = new ArrayList<>();
+
+        service.streamTasks(task -> {
+            ids.add(task.getId());
+            dependencies.add(Set.copyOf(task.getDependenciesSet()));
+        });
+
+        assertEquals(expected.stream().map(Task::getId).toList(), ids);
+        assertEquals(expected.stream().map(task -> Set.copyOf(task.getDependenciesSet())).toList(), dependencies);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}